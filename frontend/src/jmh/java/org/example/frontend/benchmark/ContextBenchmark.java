@@ -0,0 +1,103 @@
+package org.example.frontend.benchmark;
+
+import org.example.frontend.cipher.constants.CipherMode;
+import org.example.frontend.cipher.constants.PaddingMode;
+import org.example.frontend.cipher.context.Context;
+import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
+import org.example.frontend.cipher.magenta.FastMagenta;
+import org.example.frontend.cipher.magenta.Magenta;
+import org.example.frontend.cipher.magenta.enums.MagentaKeyLength;
+import org.example.frontend.cipher.rc6.RC6;
+import org.example.frontend.cipher.rc6.enums.RC6KeyLength;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Пропускная способность Context.encryptDecryptInner: шифр x длина ключа x режим x набивка x размер данных.
+// Шифрование включает addPadding, расшифрование - removePadding, как при отправке сообщения или чанка.
+// Полная матрица большая, удобнее сужать параметрами JMH, например:
+//   java -jar build/libs/frontend-1.0-SNAPSHOT-jmh.jar ContextBenchmark -p cipher=RC6 -p payloadSize=65536 -prof gc
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextBenchmark {
+
+    // MAGENTA - эталонная реализация, FAST_MAGENTA - табличная, которую использует ContextFactory
+    @Param({"RC6", "MAGENTA", "FAST_MAGENTA"})
+    private String cipher;
+
+    @Param({"KEY_128", "KEY_192", "KEY_256"})
+    private String keyLength;
+
+    @Param({"ECB", "CBC", "PCBC", "CFB", "OFB", "CTR", "RD"})
+    private CipherMode cipherMode;
+
+    @Param({"PKCS7", "ZEROS", "ANSI_X923", "ISO_10126"})
+    private PaddingMode paddingMode;
+
+    // от текстового сообщения до чанка файла
+    @Param({"16", "1024", "65536", "1048576", "67108864"})
+    private int payloadSize;
+
+    private Context context;
+    private byte[] plain;
+    private byte[] encrypted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+
+        EncryptorDecryptorSymmetric algorithm = switch (cipher) {
+            case "RC6" -> {
+                RC6KeyLength length = RC6KeyLength.valueOf(keyLength);
+                yield new RC6(length, randomBytes(random, length.getKeyLengthInBytes()));
+            }
+            case "MAGENTA" -> {
+                MagentaKeyLength length = MagentaKeyLength.valueOf(keyLength);
+                yield new Magenta(length, randomBytes(random, length.getKeyLengthInBytes()));
+            }
+            case "FAST_MAGENTA" -> {
+                MagentaKeyLength length = MagentaKeyLength.valueOf(keyLength);
+                yield new FastMagenta(length, randomBytes(random, length.getKeyLengthInBytes()));
+            }
+            default -> throw new IllegalArgumentException("Unexpected cipher: " + cipher);
+        };
+
+        context = new Context(algorithm, cipherMode, paddingMode, randomBytes(random, algorithm.getBlockSize()), 69);
+        plain = randomBytes(random, payloadSize);
+        // при ZEROS хвостовые нули срезаются вместе с набивкой
+        plain[plain.length - 1] = 1;
+        encrypted = context.encryptDecryptInner(context.addPadding(plain), null, true).first();
+    }
+
+    @Benchmark
+    public byte[] encrypt() {
+        return context.encryptDecryptInner(context.addPadding(plain), null, true).first();
+    }
+
+    @Benchmark
+    public byte[] decrypt() {
+        return context.removePadding(context.encryptDecryptInner(encrypted, null, false).first());
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
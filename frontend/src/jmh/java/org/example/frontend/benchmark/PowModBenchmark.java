@@ -0,0 +1,69 @@
+package org.example.frontend.benchmark;
+
+import org.example.frontend.stateless.PowModContext;
+import org.example.frontend.stateless.PowModStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// a^(m - 1) mod m, как в одной итерации теста Ферма: CLASSIC - Math.powMod, MONTGOMERY - MontgomeryContext,
+// JDK - BigInteger.modPow. reusedContext считает контекст один раз на модуль (как для всех свидетелей одного числа),
+// freshContext - на каждое возведение.
+//   java -jar build/libs/frontend-1.0-SNAPSHOT-jmh.jar PowModBenchmark -p bits=2048
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PowModBenchmark {
+
+    private static final int BASES = 8;
+
+    @Param({"CLASSIC", "MONTGOMERY", "JDK"})
+    private PowModStrategy strategy;
+
+    @Param({"256", "1024", "2048", "3072"})
+    private int bits;
+
+    private BigInteger modulus;
+    private BigInteger exponent;
+    private BigInteger[] bases;
+    private PowModContext context;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        modulus = new BigInteger(bits, random).setBit(bits - 1).setBit(0);
+        exponent = modulus.subtract(BigInteger.ONE);
+        bases = new BigInteger[BASES];
+        for (int i = 0; i < BASES; i++) {
+            bases[i] = new BigInteger(bits - 1, random);
+        }
+        context = strategy.forModulus(modulus);
+    }
+
+    @Benchmark
+    public BigInteger reusedContext() {
+        return context.pow(bases[next++ & (BASES - 1)], exponent);
+    }
+
+    @Benchmark
+    public BigInteger freshContext() {
+        return strategy.forModulus(modulus).pow(bases[next++ & (BASES - 1)], exponent);
+    }
+}
@@ -2,6 +2,7 @@ package org.example.frontend.app;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
+import org.example.frontend.cipher.magenta.supply.SBoxRegistry;
 import org.example.frontend.manager.SceneManager;
 
 import java.io.IOException;
@@ -15,6 +16,7 @@ public class StartApplication extends Application {
     }
 
     public static void main(String[] args) {
+        SBoxRegistry.warmUp();
         launch();
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package org.example.frontend.cipher.aes;
+
+import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
+
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+
+// AES из JDK (AES/ECB/NoPadding, на x86 и ARM использует аппаратные инструкции); режимы и паддинг остаются за Context.
+// Cipher не потокобезопасен, поэтому у каждого потока свой экземпляр
+public class JcaAes implements EncryptorDecryptorSymmetric {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final String TRANSFORMATION = "AES/ECB/NoPadding";
+
+    private byte[] key = null;
+    private volatile ThreadLocal<Cipher> encryptors;
+    private volatile ThreadLocal<Cipher> decryptors;
+
+    public JcaAes(byte[] key) {
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("Key is not a valid AES key");
+        }
+        setKey(key);
+    }
+
+    @Override
+    public void setKey(byte[] symmetricKey) {
+        if (key != null && key.length != symmetricKey.length) {
+            throw new IllegalArgumentException("Key length does not match symmetric key length");
+        }
+        this.key = symmetricKey;
+        SecretKeySpec spec = new SecretKeySpec(symmetricKey, "AES");
+        encryptors = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE, spec));
+        decryptors = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE, spec));
+    }
+
+    @Override
+    public byte[] encrypt(byte[] oneBlock) {
+        byte[] result = new byte[BLOCK_SIZE];
+        encryptBlocks(oneBlock, 0, result, 0, 1);
+        return result;
+    }
+
+    @Override
+    public byte[] decrypt(byte[] oneBlock) {
+        byte[] result = new byte[BLOCK_SIZE];
+        decryptBlocks(oneBlock, 0, result, 0, 1);
+        return result;
+    }
+
+    @Override
+    public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        encryptBlocks(in, inOff, out, outOff, 1);
+    }
+
+    @Override
+    public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        decryptBlocks(in, inOff, out, outOff, 1);
+    }
+
+    @Override
+    public void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        run(encryptors.get(), in, inOff, out, outOff, amountBlocks);
+    }
+
+    @Override
+    public void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        run(decryptors.get(), in, inOff, out, outOff, amountBlocks);
+    }
+
+    @Override
+    public int getBlockSize() {
+        return BLOCK_SIZE;
+    }
+
+    private static void run(Cipher cipher, byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        try {
+            cipher.update(in, inOff, amountBlocks * BLOCK_SIZE, out, outOff);
+        } catch (ShortBufferException e) {
+            throw new IllegalArgumentException("Output buffer is too small", e);
+        }
+    }
+
+    private static Cipher newCipher(int mode, SecretKeySpec spec) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, spec);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES is not available", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.frontend.cipher.aes;
+
+import org.example.frontend.cipher.interfaces.CipherProvider;
+import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
+
+import java.util.List;
+
+public class JcaAesProvider implements CipherProvider {
+
+    @Override
+    public String getName() {
+        return "AES";
+    }
+
+    @Override
+    public int getBlockSize() {
+        return 16;
+    }
+
+    @Override
+    public List<Integer> getKeyBitLengths() {
+        return List.of(128, 192, 256);
+    }
+
+    @Override
+    public EncryptorDecryptorSymmetric create(byte[] key) {
+        return new JcaAes(key);
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.frontend.cipher.context;
+
+import org.example.frontend.cipher.constants.PaddingMode;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Потоковое шифрование/расшифрование через Context: сессия хранит состояние сцепления (IV/счетчик),
+// неполный блок между вызовами update и при расшифровании придерживает последний блок до doFinal (в нем паддинг).
+public class CipherSession {
+
+    private static final int WINDOW_SIZE = 1024 * 64;
+
+    private final Context context;
+    private final boolean isEncrypt;
+    private final int blockSize;
+
+    private final byte[] chain;
+    private boolean started = false;
+
+    private final byte[] pending;
+    private int pendingLength = 0;
+    private boolean finished = false;
+
+    CipherSession(Context context, boolean isEncrypt) {
+        this.context = context;
+        this.isEncrypt = isEncrypt;
+        this.blockSize = context.getBlockSize();
+        this.chain = new byte[blockSize];
+        this.pending = new byte[blockSize];
+    }
+
+    public boolean isEncrypt() {
+        return isEncrypt;
+    }
+
+    // максимальный размер выхода update(..., inputLength, ...) или doFinal после него
+    public int getOutputSize(int inputLength) {
+        return ((pendingLength + inputLength) / blockSize + 1) * blockSize;
+    }
+
+    // src и dst могут быть одним массивом: на месте (srcOff == dstOff) без придержанного хвоста данные
+    // обрабатываются сразу, иначе вход сначала копируется, чтобы запись в dst не затерла еще не прочитанные байты
+    public int update(byte[] src, int srcOff, int length, byte[] dst, int dstOff) {
+        checkNotFinished();
+        if (src == dst && length > 0 && (pendingLength > 0 || srcOff != dstOff)) {
+            src = Arrays.copyOfRange(src, srcOff, srcOff + length);
+            srcOff = 0;
+        }
+        int total = pendingLength + length;
+        int processable = isEncrypt
+                ? total / blockSize * blockSize
+                : (total == 0 ? 0 : (total - 1) / blockSize * blockSize);
+        int written = 0;
+
+        if (pendingLength > 0 && processable > 0) {
+            int take = blockSize - pendingLength;
+            System.arraycopy(src, srcOff, pending, pendingLength, take);
+            srcOff += take;
+            length -= take;
+            processBlocks(pending, 0, blockSize, dst, dstOff);
+            pendingLength = 0;
+            processable -= blockSize;
+            written += blockSize;
+        }
+
+        if (processable > 0) {
+            processBlocks(src, srcOff, processable, dst, dstOff + written);
+            srcOff += processable;
+            length -= processable;
+            written += processable;
+        }
+
+        System.arraycopy(src, srcOff, pending, pendingLength, length);
+        pendingLength += length;
+        return written;
+    }
+
+    // src читается от position до limit, результат пишется в dst с его position; возвращает число записанных байт
+    public int update(ByteBuffer src, ByteBuffer dst) {
+        int length = src.remaining();
+        if (dst.remaining() < getOutputSize(length) - blockSize) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            int written = update(src.array(), src.arrayOffset() + src.position(), length,
+                    dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + written);
+            return written;
+        }
+
+        byte[] window = new byte[Math.min(length, WINDOW_SIZE)];
+        byte[] processed = new byte[window.length + blockSize];
+        int written = 0;
+        while (src.hasRemaining()) {
+            int amount = Math.min(window.length, src.remaining());
+            src.get(window, 0, amount);
+            int produced = update(window, 0, amount, processed, 0);
+            dst.put(processed, 0, produced);
+            written += produced;
+        }
+        return written;
+    }
+
+    public int doFinal(ByteBuffer src, ByteBuffer dst) {
+        int written = update(src, dst);
+        byte[] tail = new byte[blockSize];
+        int produced = doFinal(tail, 0);
+        if (dst.remaining() < produced) {
+            throw new BufferOverflowException();
+        }
+        dst.put(tail, 0, produced);
+        return written + produced;
+    }
+
+    public byte[] update(byte[] src, int srcOff, int length) {
+        byte[] dst = new byte[getOutputSize(length)];
+        int written = update(src, srcOff, length, dst, 0);
+        return written == dst.length ? dst : Arrays.copyOf(dst, written);
+    }
+
+    public int doFinal(byte[] dst, int dstOff) {
+        checkNotFinished();
+        finished = true;
+        if (isEncrypt) {
+            if (pendingLength == 0 && context.getPaddingMode() == PaddingMode.ZEROS) {
+                return 0;
+            }
+            byte[] tail = new byte[pendingLength];
+            System.arraycopy(pending, 0, tail, 0, pendingLength);
+            byte[] padded = context.addPadding(tail);
+            processBlocks(padded, 0, padded.length, dst, dstOff);
+            return padded.length;
+        }
+
+        if (pendingLength == 0) {
+            return 0;
+        }
+        if (pendingLength != blockSize) {
+            throw new IllegalArgumentException("Encrypted data length is not a multiple of block size");
+        }
+        byte[] lastBlock = new byte[blockSize];
+        processBlocks(pending, 0, blockSize, lastBlock, 0);
+        byte[] unpadded = context.removePadding(lastBlock);
+        System.arraycopy(unpadded, 0, dst, dstOff, unpadded.length);
+        return unpadded.length;
+    }
+
+    public byte[] doFinal() {
+        byte[] dst = new byte[getOutputSize(0)];
+        int written = doFinal(dst, 0);
+        return written == dst.length ? dst : Arrays.copyOf(dst, written);
+    }
+
+    public byte[] doFinal(byte[] src) {
+        byte[] dst = new byte[getOutputSize(src.length)];
+        int written = update(src, 0, src.length, dst, 0);
+        written += doFinal(dst, written);
+        return written == dst.length ? dst : Arrays.copyOf(dst, written);
+    }
+
+    private void processBlocks(byte[] src, int srcOff, int length, byte[] dst, int dstOff) {
+        context.process(src, srcOff, length, started ? chain : null, dst, dstOff, chain, isEncrypt);
+        started = true;
+    }
+
+    private void checkNotFinished() {
+        if (finished) {
+            throw new IllegalStateException("Cipher session is already finished");
+        }
+    }
+}
@@ -1,21 +1,22 @@
 package org.example.frontend.cipher.context;
 
-import javafx.util.Pair;
 import lombok.extern.slf4j.Slf4j;
 import org.example.frontend.cipher.constants.CipherMode;
 import org.example.frontend.cipher.constants.PaddingMode;
 import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
+import org.example.frontend.cipher.utils.Pair;
 
 
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.math.BigInteger;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.SecureRandom;
-import java.util.Arrays;
-import java.util.stream.IntStream;
 
 
 @Slf4j
@@ -24,7 +25,9 @@ public class Context {
     private final CipherMode cipherMode;
     private final PaddingMode paddingMode;
     private final EncryptorDecryptorSymmetric encryptorDecryptorSymmetric;
-    private static final int BUFFER_SIZE = 1024 * 512;
+    private static final int SEGMENT_SIZE = 1024 * 1024 * 8;
+    private static final int DIRECT_WINDOW_SIZE = 1024 * 64;
+    private static final int KEYSTREAM_BATCH_BLOCKS = 64;
     private byte[] initialVector;
     private Integer deltaForRD = null;
     private final int blockSize;
@@ -49,205 +52,322 @@ public class Context {
         this.blockSize = encryptorDecryptorSymmetric.getBlockSize();
     }
 
-    public void encrypt(Path inputPath, Path encryptedPath) throws IOException {
-        byte[] previous = null;
-        try (InputStream in = Files.newInputStream(inputPath);
-             OutputStream out = Files.newOutputStream(encryptedPath)) {
-
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int bytesRead;
-            byte[] lastBlock = null;
-
-            while ((bytesRead = in.read(buffer)) != -1) {
-                if (lastBlock != null) {
-                    Pair<byte[], byte[]> encryptedPart = encryptDecryptInner(lastBlock, previous,true);
-                    previous = encryptedPart.getValue();
-                    out.write(encryptedPart.getKey());
-                }
-                lastBlock = Arrays.copyOf(buffer, bytesRead);
-            }
+    public CipherSession newSession(boolean isEncrypt) {
+        return new CipherSession(this, isEncrypt);
+    }
 
-            if (lastBlock != null) {
-                byte[] paddedBlock = addPadding(lastBlock);
-                Pair<byte[], byte[]> encryptedPart = encryptDecryptInner(paddedBlock, previous,true);
-                out.write(encryptedPart.getKey());
-            } else {
-                byte[] emptyPadded = addPadding(new byte[0]);
-                Pair<byte[], byte[]> encryptedPart = encryptDecryptInner(emptyPadded, previous,true);
-                out.write(encryptedPart.getKey());
+    // файлы отображаются в память сегментами; для режимов с независимыми блоками сегменты обрабатываются параллельно,
+    // значение сцепления на границе сегмента вычисляется заранее (счетчик или предыдущий блок шифртекста)
+    public void encrypt(Path inputPath, Path encryptedPath) throws IOException {
+        try (FileChannel in = FileChannel.open(inputPath, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(encryptedPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long body = size - size % blockSize;
+
+            byte[] tail = new byte[(int) (size - body)];
+            readFully(in, tail, body);
+            byte[] padded = (tail.length == 0 && paddingMode == PaddingMode.ZEROS) ? tail : addPadding(tail);
+
+            byte[] chain = processFile(in, out, body, true);
+            if (padded.length > 0) {
+                process(padded, 0, padded.length, chain, padded, 0, new byte[blockSize], true);
+                writeFully(out, padded, body);
             }
         }
     }
 
     public void decrypt(Path encryptedFilePath, Path decryptedFilePath) throws IOException {
-        byte[] previous = null;
-        try (InputStream in = Files.newInputStream(encryptedFilePath);
-             OutputStream out = Files.newOutputStream(decryptedFilePath)) {
+        try (FileChannel in = FileChannel.open(encryptedFilePath, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(decryptedFilePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            if (size % blockSize != 0) {
+                throw new IllegalArgumentException("Encrypted file length is not a multiple of block size");
+            }
+            if (size == 0) {
+                return;
+            }
+            long body = size - blockSize;
 
-            byte[] buffer = new byte[BUFFER_SIZE];
-            byte[] lastBlock = null;
-            int bytesRead;
+            byte[] chain = processFile(in, out, body, false);
+            byte[] lastBlock = new byte[blockSize];
+            readFully(in, lastBlock, body);
+            process(lastBlock, 0, blockSize, chain, lastBlock, 0, new byte[blockSize], false);
+            writeFully(out, removePadding(lastBlock), body);
+        }
+    }
 
-            while ((bytesRead = in.read(buffer)) != -1) {
-                if (lastBlock != null) {
-                    out.write(lastBlock);
-                }
-                Pair<byte[], byte[]> afterDecrypt = encryptDecryptInner(Arrays.copyOf(buffer, bytesRead), previous, false);
-                lastBlock = afterDecrypt.getKey();
-                previous = afterDecrypt.getValue();
+    private byte[] processFile(FileChannel in, FileChannel out, long length, boolean isEncrypt) throws IOException {
+        int amountSegments = (int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+
+        if (hasIndependentBlocks(isEncrypt)) {
+            try {
+                CryptoPool.forEach(amountSegments, true, k -> {
+                    long offset = (long) k * SEGMENT_SIZE;
+                    try {
+                        processSegment(in, out, offset, (int) Math.min(SEGMENT_SIZE, length - offset),
+                                chainAt(in, offset / blockSize), isEncrypt);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
             }
+            return chainAt(in, length / blockSize);
+        }
 
-            if (lastBlock != null) {
-                byte[] unpadded = removePadding(lastBlock);
-                out.write(unpadded);
-            }
+        byte[] chain = null;
+        for (int k = 0; k < amountSegments; k++) {
+            long offset = (long) k * SEGMENT_SIZE;
+            chain = processSegment(in, out, offset, (int) Math.min(SEGMENT_SIZE, length - offset), chain, isEncrypt);
         }
+        return chain;
     }
 
-    public Pair<byte[], byte[]> encryptDecryptInner(byte[] data, byte[] prev, boolean isEncrypt) {
-        if (initialVector != null && initialVector.length != blockSize) {
-            throw new IllegalArgumentException("Initial vector length does not match block size");
+    private byte[] processSegment(FileChannel in, FileChannel out, long offset, int length, byte[] prev, boolean isEncrypt) throws IOException {
+        MappedByteBuffer src = in.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        MappedByteBuffer dst = out.map(FileChannel.MapMode.READ_WRITE, offset, length);
+        byte[] previous = new byte[blockSize];
+        process(src, dst, length, prev, previous, isEncrypt);
+        return previous;
+    }
+
+    private boolean hasIndependentBlocks(boolean isEncrypt) {
+        return switch (cipherMode) {
+            case ECB, CTR, RD -> true;
+            case CBC, CFB -> !isEncrypt;
+            default -> false;
+        };
+    }
+
+    // значение сцепления перед блоком с номером block (null - начало, IV)
+    private byte[] chainAt(FileChannel in, long block) throws IOException {
+        if (block == 0) {
+            return null;
+        }
+        byte[] chain = new byte[blockSize];
+        switch (cipherMode) {
+            case CTR, RD -> counterModeEngine().advance(ensureInitialVector(), block, chain);
+            case CBC, CFB -> readFully(in, chain, (block - 1) * blockSize);
+            default -> { }
         }
+        return chain;
+    }
 
-        if (initialVector == null ) {
-            initialVector = new byte[blockSize];
-            SecureRandom secureRandom = new SecureRandom();
-            secureRandom.nextBytes(initialVector);
+    private static void readFully(FileChannel channel, byte[] array, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(array);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
         }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] array, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(array);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
 
+    public Pair<byte[], byte[]> encryptDecryptInner(byte[] data, byte[] prev, boolean isEncrypt) {
         byte[] result = new byte[data.length];
         byte[] previous = new byte[blockSize];
-        int amountBlock = data.length / blockSize;
+        process(data, 0, data.length, prev, result, 0, previous, isEncrypt);
+        return new Pair<>(result, previous);
+    }
+
+    // шифрование на месте: обрабатываются байты [position, limit), position сдвигается на limit
+    public void encrypt(ByteBuffer buffer) {
+        encryptDecryptInner(buffer, buffer.duplicate(), null, true);
+    }
+
+    public void decrypt(ByteBuffer buffer) {
+        encryptDecryptInner(buffer, buffer.duplicate(), null, false);
+    }
+
+    // src.remaining() байт (кратно размеру блока, без паддинга) пишутся в dst с его position;
+    // dst может смотреть на ту же память с той же позиции (на месте). Возвращает значение сцепления для следующей порции
+    public byte[] encryptDecryptInner(ByteBuffer src, ByteBuffer dst, byte[] prev, boolean isEncrypt) {
+        int length = src.remaining();
+        if (length % blockSize != 0) {
+            throw new IllegalArgumentException("Data length is not a multiple of block size");
+        }
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        byte[] previous = new byte[blockSize];
+        process(src, dst, length, prev, previous, isEncrypt);
+        return previous;
+    }
+
+    void process(ByteBuffer src, ByteBuffer dst, int length, byte[] prev, byte[] previous, boolean isEncrypt) {
+        if (src.hasArray() && dst.hasArray()) {
+            process(src.array(), src.arrayOffset() + src.position(), length, prev,
+                    dst.array(), dst.arrayOffset() + dst.position(), previous, isEncrypt);
+            src.position(src.position() + length);
+            dst.position(dst.position() + length);
+            return;
+        }
+
+        // direct и read-only буферы идут через ограниченное окно в куче
+        byte[] window = new byte[Math.min(length, DIRECT_WINDOW_SIZE)];
+        byte[] chain = prev;
+        for (int done = 0; done < length; ) {
+            int amount = Math.min(window.length, length - done);
+            src.get(window, 0, amount);
+            process(window, 0, amount, chain, window, 0, previous, isEncrypt);
+            dst.put(window, 0, amount);
+            chain = previous;
+            done += amount;
+        }
+        if (length == 0) {
+            process(window, 0, 0, prev, window, 0, previous, isEncrypt);
+        }
+    }
+
+    // prev == null - начало потока (используется IV); prev и previous могут быть одним массивом,
+    // in и out могут совпадать (шифрование на месте)
+    void process(byte[] in, int inOff, int length, byte[] prev, byte[] out, int outOff, byte[] previous, boolean isEncrypt) {
+        int amountBlock = length / blockSize;
+        int end = outOff + amountBlock * blockSize;
+        byte[] feedback = (prev == null) ? ensureInitialVector() : prev;
 
         switch(cipherMode) {
             case ECB:
-                IntStream.range(0, amountBlock).parallel().forEach(i -> {
-                    int offset = i * blockSize;
-                    byte[] block = Arrays.copyOfRange(data, offset, offset + blockSize);
-                    byte[] preResult = isEncrypt ? encryptorDecryptorSymmetric.encrypt(block) : encryptorDecryptorSymmetric.decrypt(block);
-                    System.arraycopy(preResult, 0, result, offset, blockSize);
+                forEachBlockRange(amountBlock, (task, from, to) -> {
+                    if (isEncrypt) {
+                        encryptorDecryptorSymmetric.encryptBlocks(in, inOff + from * blockSize, out, outOff + from * blockSize, to - from);
+                    } else {
+                        encryptorDecryptorSymmetric.decryptBlocks(in, inOff + from * blockSize, out, outOff + from * blockSize, to - from);
+                    }
                 });
                 break;
             case CBC:
                 if (isEncrypt) {
-                    byte[] blockMessage = Arrays.copyOfRange(data,0, blockSize );
-                    blockMessage = xorByteArrays(blockMessage, (prev == null) ? initialVector : prev);
-                    byte[] resultPrev = encryptorDecryptorSymmetric.encrypt(blockMessage);
-                    System.arraycopy(resultPrev, 0, result, 0, blockSize);
-                    for(int i = blockSize; i < data.length; i += blockSize) {
-                        blockMessage = Arrays.copyOfRange(data, i, i + blockSize);
-                        blockMessage = xorByteArrays(blockMessage, resultPrev);
-                        resultPrev = encryptorDecryptorSymmetric.encrypt(blockMessage);
-                        System.arraycopy(resultPrev, 0, result, i, blockSize);
+                    byte[] feedbackArray = feedback;
+                    int feedbackOffset = 0;
+                    for (int i = inOff, o = outOff; o < end; i += blockSize, o += blockSize) {
+                        xorBlocks(in, i, feedbackArray, feedbackOffset, out, o);
+                        encryptorDecryptorSymmetric.encryptBlock(out, o, out, o);
+                        feedbackArray = out;
+                        feedbackOffset = o;
                     }
-                    previous = resultPrev;
+                    System.arraycopy(feedbackArray, feedbackOffset, previous, 0, blockSize);
                 } else {
-                    byte[] decodedBlocks = new byte[data.length];
-                    IntStream.range(0, amountBlock).parallel().forEach(i -> {
-                        int offset = i * blockSize;
-                        byte[] block = Arrays.copyOfRange(data, offset, offset + blockSize);
-                        byte[] preResult = encryptorDecryptorSymmetric.decrypt(block);
-                        System.arraycopy(preResult, 0, decodedBlocks, offset, blockSize);
+                    byte[] boundaries = rangeBoundaries(in, inOff, amountBlock, feedback);
+                    lastBlockOrFeedback(in, inOff, amountBlock, feedback, previous);
+                    forEachBlockRange(amountBlock, (task, from, to) -> {
+                        byte[] cipherTexts = new byte[(to - from) * blockSize];
+                        System.arraycopy(in, inOff + from * blockSize, cipherTexts, 0, cipherTexts.length);
+                        int rangeOff = outOff + from * blockSize;
+                        encryptorDecryptorSymmetric.decryptBlocks(cipherTexts, 0, out, rangeOff, to - from);
+                        xorBlocks(out, rangeOff, boundaries, task * blockSize, out, rangeOff);
+                        XorPrimitives.xor(out, rangeOff + blockSize, cipherTexts, 0, out, rangeOff + blockSize,
+                                cipherTexts.length - blockSize);
                     });
-
-                    byte[] arrayCipherTexts = new byte[data.length + blockSize];//тут размер вектора инициализации добавил
-                    System.arraycopy((prev == null) ? initialVector : prev, 0, arrayCipherTexts, 0, initialVector.length);
-                    System.arraycopy(data, 0, arrayCipherTexts, initialVector.length, data.length);
-
-                    IntStream.range(0, amountBlock).parallel().forEach(i -> {
-                        int offset = i * blockSize;
-                        byte[] firstBlock = Arrays.copyOfRange(arrayCipherTexts, offset, offset + blockSize);
-                        byte[] secondBlock = Arrays.copyOfRange(decodedBlocks, offset, offset + blockSize);
-                        byte[] message = xorByteArrays(firstBlock, secondBlock);
-                        System.arraycopy(message, 0, result, offset, blockSize);
-                    });
-
-                    System.arraycopy(arrayCipherTexts, arrayCipherTexts.length - blockSize, previous, 0, blockSize);
                 }
                 break;
             case OFB:
-                byte[] previousEncryptedBlockOFB = (prev == null) ? encryptorDecryptorSymmetric.encrypt(initialVector) : prev;
-                for(int i = 0; i < amountBlock; i++) {
-                    int offset = i * blockSize;
-                    byte[] block = Arrays.copyOfRange(data, offset, offset + blockSize);
-                    byte[] preResult = xorByteArrays(previousEncryptedBlockOFB, block);
-                    System.arraycopy(preResult, 0, result, offset, blockSize);
-                    previousEncryptedBlockOFB = encryptorDecryptorSymmetric.encrypt(previousEncryptedBlockOFB);
+                if (prev == null) {
+                    encryptorDecryptorSymmetric.encryptBlock(initialVector, 0, previous, 0);
+                } else if (prev != previous) {
+                    System.arraycopy(prev, 0, previous, 0, blockSize);
+                }
+                // гамма считается последовательно пачками, затем xor сразу по всей пачке
+                byte[] keyStreamBatch = new byte[Math.min(amountBlock, KEYSTREAM_BATCH_BLOCKS) * blockSize];
+                for (int i = inOff, o = outOff; o < end; ) {
+                    int batchLength = Math.min(keyStreamBatch.length, end - o);
+                    for (int k = 0; k < batchLength; k += blockSize) {
+                        System.arraycopy(previous, 0, keyStreamBatch, k, blockSize);
+                        encryptorDecryptorSymmetric.encryptBlock(previous, 0, previous, 0);
+                    }
+                    XorPrimitives.xor(in, i, keyStreamBatch, 0, out, o, batchLength);
+                    i += batchLength;
+                    o += batchLength;
                 }
-                previous = previousEncryptedBlockOFB;
                 break;
             case CFB:
                 if (isEncrypt) {
-                    byte[] previousEncryptedBlockCFB = (prev == null) ? initialVector : prev;
-                    for(int i = 0; i < amountBlock; i++) {
-                        int offset = i * blockSize;
-                        byte[] block = Arrays.copyOfRange(data, offset, offset + blockSize);
-                        byte[] preResult = xorByteArrays(encryptorDecryptorSymmetric.encrypt(previousEncryptedBlockCFB), block);
-                        System.arraycopy(preResult, 0, result, offset, blockSize);
-                        previousEncryptedBlockCFB = preResult;
-                        previous = previousEncryptedBlockCFB;
+                    byte[] keyStream = new byte[blockSize];
+                    byte[] feedbackArray = feedback;
+                    int feedbackOffset = 0;
+                    for (int i = inOff, o = outOff; o < end; i += blockSize, o += blockSize) {
+                        encryptorDecryptorSymmetric.encryptBlock(feedbackArray, feedbackOffset, keyStream, 0);
+                        xorBlocks(in, i, keyStream, 0, out, o);
+                        feedbackArray = out;
+                        feedbackOffset = o;
                     }
+                    System.arraycopy(feedbackArray, feedbackOffset, previous, 0, blockSize);
                 } else {
-                    byte[] cipherTextsArray = new byte[data.length + initialVector.length];
-                    System.arraycopy((prev == null) ? initialVector : prev, 0, cipherTextsArray, 0, initialVector.length);
-                    System.arraycopy(data, 0, cipherTextsArray, initialVector.length, data.length);
-
-                    IntStream.range(0, amountBlock).parallel().forEach(i -> {
-                        int offset = i * blockSize;
-                        byte[] blockFirst = Arrays.copyOfRange(cipherTextsArray, offset, offset + blockSize);
-                        byte[] blockSecond = Arrays.copyOfRange(cipherTextsArray, offset+blockSize, offset + blockSize * 2);
-                        byte[] message = xorByteArrays(encryptorDecryptorSymmetric.encrypt(blockFirst), blockSecond);
-                        System.arraycopy(message, 0, result, offset, blockSize);
+                    byte[] boundaries = rangeBoundaries(in, inOff, amountBlock, feedback);
+                    lastBlockOrFeedback(in, inOff, amountBlock, feedback, previous);
+                    forEachBlockRange(amountBlock, (task, from, to) -> {
+                        byte[] cipherTexts = new byte[(to - from) * blockSize];
+                        System.arraycopy(in, inOff + from * blockSize, cipherTexts, 0, cipherTexts.length);
+                        int rangeOff = outOff + from * blockSize;
+                        encryptorDecryptorSymmetric.encryptBlock(boundaries, task * blockSize, out, rangeOff);
+                        encryptorDecryptorSymmetric.encryptBlocks(cipherTexts, 0, out, rangeOff + blockSize, to - from - 1);
+                        XorPrimitives.xor(out, rangeOff, cipherTexts, 0, out, rangeOff, cipherTexts.length);
                     });
-                    System.arraycopy(data, data.length - blockSize, previous, 0 , blockSize);
                 }
                 break;
             case PCBC:
-                byte[] previousEncryptedBlockPCBC = (prev == null) ? initialVector : prev;
-                for(int i = 0; i < amountBlock; i++) {
-                    int offset = i * blockSize;
-                    byte[] block = Arrays.copyOfRange(data, offset, offset + blockSize);
-                    byte[] xored = xorByteArrays(previousEncryptedBlockPCBC, isEncrypt ? block : encryptorDecryptorSymmetric.decrypt(block)) ;
-                    byte[] preResult = isEncrypt ? encryptorDecryptorSymmetric.encrypt(xored) : xored;
-                    System.arraycopy(preResult, 0, result, offset, blockSize);
-                    previousEncryptedBlockPCBC = xorByteArrays(preResult, block);
+                byte[] saved = new byte[blockSize];
+                if (feedback != previous) {
+                    System.arraycopy(feedback, 0, previous, 0, blockSize);
+                }
+                for (int i = inOff, o = outOff; o < end; i += blockSize, o += blockSize) {
+                    System.arraycopy(in, i, saved, 0, blockSize);
+                    if (isEncrypt) {
+                        xorBlocks(saved, 0, previous, 0, out, o);
+                        encryptorDecryptorSymmetric.encryptBlock(out, o, out, o);
+                    } else {
+                        encryptorDecryptorSymmetric.decryptBlock(saved, 0, out, o);
+                        xorBlocks(out, o, previous, 0, out, o);
+                    }
+                    xorBlocks(out, o, saved, 0, previous, 0);
                 }
-                previous = previousEncryptedBlockPCBC;
                 break;
             case CTR, RD:
-                byte[] iv = new byte[initialVector.length];
-                System.arraycopy(initialVector, 0, iv, 0, initialVector.length);
-                BigInteger initialCounter = (prev == null) ? new BigInteger(iv) : new BigInteger(prev);
-
-
-                if (cipherMode == CipherMode.RD && deltaForRD == null) {
-                    throw new IllegalArgumentException("deltaForRD is null!!! need to add for constructor of Context");
-                }
-
-                if (cipherMode == CipherMode.RD && deltaForRD < 0) {
-                    throw  new IllegalArgumentException("delta can't be negative!");
-                }
-
-                int delta = cipherMode == CipherMode.CTR ? 1 : deltaForRD;
-                IntStream.range(0, amountBlock).parallel().forEach(i -> {
-                    int offset = i * blockSize;
-                    byte[] block = Arrays.copyOfRange(data, offset, offset + blockSize);
-                    BigInteger currentCounter = initialCounter;
-                    BigInteger iNumber = BigInteger.valueOf(i);
-                    BigInteger deltaBigInteger = BigInteger.valueOf(delta);
-                    currentCounter = currentCounter.add(deltaBigInteger.multiply(iNumber));
-                    byte[] bytesOfCurrentCounter = currentCounter.toByteArray();
-                    bytesOfCurrentCounter = Arrays.copyOf(bytesOfCurrentCounter, blockSize);
-                    byte[] xored = xorByteArrays(bytesOfCurrentCounter, block);
-                    System.arraycopy(xored, 0, result, offset, blockSize);
-                });
-                previous = initialCounter.add(BigInteger.valueOf(amountBlock).multiply(BigInteger.valueOf(delta))).toByteArray();
+                CounterModeEngine counterMode = counterModeEngine();
+                forEachBlockRange(amountBlock, (task, from, to) ->
+                        counterMode.apply(feedback, from, in, inOff + from * blockSize, out, outOff + from * blockSize, to - from));
+                counterMode.advance(feedback, amountBlock, previous);
                 break;
             default:
                 throw new UnsupportedOperationException("Unsupported cipher mode: " + cipherMode);
         }
+    }
 
-        return new Pair<>(result, previous);
+    private synchronized byte[] ensureInitialVector() {
+        if (initialVector != null && initialVector.length != blockSize) {
+            throw new IllegalArgumentException("Initial vector length does not match block size");
+        }
+
+        if (initialVector == null ) {
+            initialVector = new byte[blockSize];
+            SecureRandom secureRandom = new SecureRandom();
+            secureRandom.nextBytes(initialVector);
+        }
+        return initialVector;
+    }
+
+    private CounterModeEngine counterModeEngine() {
+        if (cipherMode == CipherMode.RD && deltaForRD == null) {
+            throw new IllegalArgumentException("deltaForRD is null!!! need to add for constructor of Context");
+        }
+        return new CounterModeEngine(encryptorDecryptorSymmetric, cipherMode == CipherMode.CTR ? 1 : deltaForRD);
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public PaddingMode getPaddingMode() {
+        return paddingMode;
     }
 
 
@@ -349,15 +469,44 @@ public class Context {
         return unpadded;
     }
 
-    private byte[] xorByteArrays(byte[] a, byte[] b) {
-        if (a.length != b.length) {
-            throw new IllegalArgumentException("Arrays have different lengths");
+    // диапазоны по BLOCKS_PER_TASK блоков; короткие данные (например, текстовые сообщения) не уходят в пул
+    private void forEachBlockRange(int amountBlock, BlockRange task) {
+        int blocksPerTask = CryptoPool.BLOCKS_PER_TASK;
+        int amountTasks = (amountBlock + blocksPerTask - 1) / blocksPerTask;
+        CryptoPool.forEach(amountTasks, amountBlock >= CryptoPool.PARALLEL_THRESHOLD, k ->
+                task.process(k, k * blocksPerTask, Math.min(amountBlock, (k + 1) * blocksPerTask)));
+    }
+
+    @FunctionalInterface
+    private interface BlockRange {
+        void process(int task, int fromBlock, int toBlock);
+    }
+
+    // блок шифртекста перед началом каждого диапазона forEachBlockRange, снимается до запуска задач,
+    // т.к. при шифровании на месте соседний диапазон его перезапишет
+    private byte[] rangeBoundaries(byte[] in, int inOff, int amountBlock, byte[] feedback) {
+        int blocksPerTask = CryptoPool.BLOCKS_PER_TASK;
+        int amountTasks = (amountBlock + blocksPerTask - 1) / blocksPerTask;
+        byte[] boundaries = new byte[Math.max(amountTasks, 1) * blockSize];
+        System.arraycopy(feedback, 0, boundaries, 0, blockSize);
+        for (int k = 1; k < amountTasks; k++) {
+            System.arraycopy(in, inOff + (k * blocksPerTask - 1) * blockSize, boundaries, k * blockSize, blockSize);
         }
-        byte[] result = new byte[a.length];
-        for (int i = 0; i < a.length; ++i) {
-            result[i] = (byte) (a[i] ^ b[i]);
+        return boundaries;
+    }
+
+    private void lastBlockOrFeedback(byte[] in, int inOff, int amountBlock, byte[] feedback, byte[] previous) {
+        if (amountBlock == 0) {
+            if (feedback != previous) {
+                System.arraycopy(feedback, 0, previous, 0, blockSize);
+            }
+        } else {
+            System.arraycopy(in, inOff + (amountBlock - 1) * blockSize, previous, 0, blockSize);
         }
-        return result;
+    }
+
+    private void xorBlocks(byte[] a, int aOffset, byte[] b, int bOffset, byte[] out, int outOffset) {
+        XorPrimitives.xor(a, aOffset, b, bOffset, out, outOffset, blockSize);
     }
 
 }
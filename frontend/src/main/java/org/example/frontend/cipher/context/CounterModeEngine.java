@@ -0,0 +1,66 @@
+package org.example.frontend.cipher.context;
+
+import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+// CTR/RD: счетчик - 128-битное big-endian число (high, low), i-й блок гаммы = E(start + i * delta)
+final class CounterModeEngine {
+
+    private static final int COUNTER_SIZE = 16;
+    private static final int BATCH_BLOCKS = 64;
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final EncryptorDecryptorSymmetric cipher;
+    private final long delta;
+
+    CounterModeEngine(EncryptorDecryptorSymmetric cipher, long delta) {
+        if (cipher.getBlockSize() != COUNTER_SIZE) {
+            throw new IllegalArgumentException("CTR/RD needs a 128-bit block cipher");
+        }
+        if (delta < 0) {
+            throw new IllegalArgumentException("delta can't be negative!");
+        }
+        this.cipher = cipher;
+        this.delta = delta;
+    }
+
+    // counter - начальный счетчик (для блока с индексом 0 всего потока данных), firstBlock - индекс блока in[inOff]
+    void apply(byte[] counter, long firstBlock, byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        long high = (long) LONG.get(counter, 0);
+        long low = (long) LONG.get(counter, 8);
+
+        long sum = low + firstBlock * delta;
+        high += Math.multiplyHigh(firstBlock, delta) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+        low = sum;
+
+        byte[] keystream = new byte[BATCH_BLOCKS * COUNTER_SIZE];
+        while (amountBlocks > 0) {
+            int batch = Math.min(amountBlocks, BATCH_BLOCKS);
+            for (int i = 0; i < batch; i++) {
+                LONG.set(keystream, i * COUNTER_SIZE, high);
+                LONG.set(keystream, i * COUNTER_SIZE + 8, low);
+                sum = low + delta;
+                high += Long.compareUnsigned(sum, low) < 0 ? 1 : 0;
+                low = sum;
+            }
+            cipher.encryptBlocks(keystream, 0, keystream, 0, batch);
+            XorPrimitives.xor(in, inOff, keystream, 0, out, outOff, batch * COUNTER_SIZE);
+            amountBlocks -= batch;
+            inOff += batch * COUNTER_SIZE;
+            outOff += batch * COUNTER_SIZE;
+        }
+    }
+
+    // counter + amountBlocks * delta -> next
+    void advance(byte[] counter, long amountBlocks, byte[] next) {
+        long high = (long) LONG.get(counter, 0);
+        long low = (long) LONG.get(counter, 8);
+        long sum = low + amountBlocks * delta;
+        high += Math.multiplyHigh(amountBlocks, delta) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+        LONG.set(next, 0, high);
+        LONG.set(next, 8, sum);
+    }
+}
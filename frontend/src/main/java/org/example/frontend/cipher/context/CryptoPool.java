@@ -0,0 +1,95 @@
+package org.example.frontend.cipher.context;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+// Отдельный пул для шифрования, чтобы не занимать common pool (JavaFX, gRPC).
+// Настройки задаются системными свойствами:
+//   crypto.pool.size              - число потоков (по умолчанию ядра - 1)
+//   crypto.blocks.per.task        - сколько блоков обрабатывает одна задача
+//   crypto.parallel.threshold     - меньше этого числа блоков работа идет в вызывающем потоке
+@Slf4j
+@UtilityClass
+public class CryptoPool {
+
+    public static final int POOL_SIZE = Math.max(1,
+            Integer.getInteger("crypto.pool.size", Runtime.getRuntime().availableProcessors() - 1));
+    public static final int BLOCKS_PER_TASK = Math.max(1, Integer.getInteger("crypto.blocks.per.task", 1024));
+    public static final int PARALLEL_THRESHOLD = Math.max(1, Integer.getInteger("crypto.parallel.threshold", 4096));
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(POOL_SIZE, pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("crypto-worker-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
+
+    private static final LongAdder inlineRuns = new LongAdder();
+    private static final LongAdder parallelRuns = new LongAdder();
+    private static final LongAdder parallelTasks = new LongAdder();
+
+    static {
+        log.info("Crypto pool: size={}, blocksPerTask={}, parallelThreshold={}", POOL_SIZE, BLOCKS_PER_TASK, PARALLEL_THRESHOLD);
+    }
+
+    // task.accept(k) для k из [0, amountTasks); при parallel = false или одной задаче - в вызывающем потоке
+    static void forEach(int amountTasks, boolean parallel, IntConsumer task) {
+        if (!parallel || amountTasks <= 1 || POOL_SIZE == 1) {
+            inlineRuns.increment();
+            for (int k = 0; k < amountTasks; k++) {
+                task.accept(k);
+            }
+            return;
+        }
+
+        parallelRuns.increment();
+        parallelTasks.add(amountTasks);
+        RangeAction action = new RangeAction(0, amountTasks, task);
+        if (ForkJoinTask.getPool() == POOL) {
+            action.invoke();
+        } else {
+            POOL.invoke(action);
+        }
+    }
+
+    public static String metrics() {
+        return "poolSize=" + POOL_SIZE
+                + ", blocksPerTask=" + BLOCKS_PER_TASK
+                + ", parallelThreshold=" + PARALLEL_THRESHOLD
+                + ", inlineRuns=" + inlineRuns.sum()
+                + ", parallelRuns=" + parallelRuns.sum()
+                + ", parallelTasks=" + parallelTasks.sum()
+                + ", activeThreads=" + POOL.getActiveThreadCount()
+                + ", steals=" + POOL.getStealCount();
+    }
+
+    @SuppressWarnings("serial")
+    private static final class RangeAction extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer task;
+
+        RangeAction(int from, int to, IntConsumer task) {
+            this.from = from;
+            this.to = to;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                task.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, middle, task), new RangeAction(middle, to, task));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.frontend.cipher.context;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// загружается только из XorPrimitives при доступном jdk.incubator.vector
+final class VectorXor {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private VectorXor() {}
+
+    // возвращает число обработанных байт (кратно длине вектора), хвост остается вызывающему
+    static int xor(byte[] a, int aOff, byte[] b, int bOff, byte[] out, int outOff, int length) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, a, aOff + i)
+                    .lanewise(VectorOperators.XOR, ByteVector.fromArray(SPECIES, b, bOff + i))
+                    .intoArray(out, outOff + i);
+        }
+        return i;
+    }
+}
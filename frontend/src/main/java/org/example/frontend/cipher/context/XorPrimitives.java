@@ -0,0 +1,33 @@
+package org.example.frontend.cipher.context;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+// XOR длинных участков массивов: через jdk.incubator.vector, если модуль подключен (--add-modules jdk.incubator.vector),
+// иначе по 8 байт через VarHandle. out может совпадать с a или b только при том же смещении
+final class XorPrimitives {
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    static final boolean VECTOR_ENABLED = !Boolean.getBoolean("crypto.xor.scalar")
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    // короче этого векторный цикл не окупается
+    private static final int VECTOR_MIN_LENGTH = 64;
+
+    private XorPrimitives() {}
+
+    static void xor(byte[] a, int aOff, byte[] b, int bOff, byte[] out, int outOff, int length) {
+        int i = 0;
+        if (VECTOR_ENABLED && length >= VECTOR_MIN_LENGTH) {
+            i = VectorXor.xor(a, aOff, b, bOff, out, outOff, length);
+        }
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            LONG.set(out, outOff + i, (long) LONG.get(a, aOff + i) ^ (long) LONG.get(b, bOff + i));
+        }
+        for (; i < length; i++) {
+            out[outOff + i] = (byte) (a[aOff + i] ^ b[bOff + i]);
+        }
+    }
+}
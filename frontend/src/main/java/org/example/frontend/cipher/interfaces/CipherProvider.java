@@ -0,0 +1,16 @@
+package org.example.frontend.cipher.interfaces;
+
+import java.util.List;
+
+// Описание симметричного шифра для реестра (ServiceLoader): имя в настройках комнаты, размер блока и допустимые длины ключа
+public interface CipherProvider {
+
+    String getName();
+
+    int getBlockSize();
+
+    List<Integer> getKeyBitLengths();
+
+    // key.length * 8 - одна из getKeyBitLengths()
+    EncryptorDecryptorSymmetric create(byte[] key);
+}
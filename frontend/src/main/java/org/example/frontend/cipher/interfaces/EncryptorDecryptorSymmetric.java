@@ -7,5 +7,24 @@ public interface EncryptorDecryptorSymmetric {
 
     byte[] decrypt(byte[] cipherText);
 
+    // in и out могут совпадать (в том числе с тем же смещением) - блок шифруется на месте
+    void encryptBlock(byte[] in, int inOff, byte[] out, int outOff);
+
+    void decryptBlock(byte[] in, int inOff, byte[] out, int outOff);
+
+    default void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        int blockSize = getBlockSize();
+        for (int i = 0; i < amountBlocks; i++) {
+            encryptBlock(in, inOff + i * blockSize, out, outOff + i * blockSize);
+        }
+    }
+
+    default void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        int blockSize = getBlockSize();
+        for (int i = 0; i < amountBlocks; i++) {
+            decryptBlock(in, inOff + i * blockSize, out, outOff + i * blockSize);
+        }
+    }
+
     int getBlockSize();
 }
@@ -0,0 +1,219 @@
+package org.example.frontend.cipher.magenta;
+
+
+import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
+import org.example.frontend.cipher.interfaces.KeyExpansion;
+import org.example.frontend.cipher.magenta.enums.MagentaKeyLength;
+import org.example.frontend.cipher.magenta.supply.SBoxRegistry;
+import org.example.frontend.cipher.magenta.supply.SBoxTables;
+
+// Табличная реализация Magenta, по выходу совпадает с Magenta (эталон для сверки).
+// Рекурсия c(.., 3) развернута: t() в Magenta меняет блок на месте, поэтому два вызова c(.., j - 1)
+// дают разные значения, и всего получается 7 применений T подряд.
+public class FastMagenta implements EncryptorDecryptorSymmetric {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final int HALF = BLOCK_SIZE / 2;
+
+    private static final SBoxTables S_BOX = SBoxRegistry.get(SBoxRegistry.MAGENTA_POLY);
+
+    // раскладка scratch-буфера одного блока (lane)
+    private static final int STATE = 0;
+    private static final int W = 16;
+    private static final int S0 = 32;
+    private static final int S2 = 48;
+    private static final int R = 64;
+    private static final int C = 80;
+    private static final int SCRATCH_SIZE = 96;
+    private static final int MAX_LANES = 8;
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[MAX_LANES * SCRATCH_SIZE]);
+
+    private byte[] key = null;
+    private final KeyExpansion keyExpansion;
+    private byte[] roundKeys = null;
+    private int[] keyPattern = null;
+
+    public FastMagenta(MagentaKeyLength keyLength, byte[] key) {
+        keyExpansion = new MagentaKeyExpansion();
+        if (key.length != keyLength.getKeyLengthInBytes()) {
+            throw new IllegalArgumentException("Key is not a valid Magenta key");
+        }
+        setKey(key);
+    }
+
+    @Override
+    public void setKey(byte[] symmetricKey) {
+        if (key != null && key.length != symmetricKey.length) {
+            throw new IllegalArgumentException("Key length does not match symmetric key length");
+        }
+        this.key = symmetricKey;
+        byte[][] expanded = this.keyExpansion.generateRoundKeys(key);
+        byte[] flat = new byte[expanded.length * HALF];
+        for (int i = 0; i < expanded.length; i++) {
+            System.arraycopy(expanded[i], 0, flat, i * HALF, HALF);
+        }
+        keyPattern = switch (expanded.length) {
+            case 2 -> new int[]{0, 0, 1, 1, 0, 0};
+            case 3 -> new int[]{0, 1, 2, 2, 1, 0};
+            case 4 -> new int[]{0, 1, 2, 3, 3, 2, 1, 0};
+            default -> throw new IllegalArgumentException("Unsupported key length");
+        };
+        roundKeys = flat;
+    }
+
+    @Override
+    public byte[] encrypt(byte[] oneBlock) {
+        byte[] result = new byte[BLOCK_SIZE];
+        encryptBlocks(oneBlock, 0, result, 0, 1);
+        return result;
+    }
+
+    @Override
+    public byte[] decrypt(byte[] oneBlock) {
+        byte[] result = new byte[BLOCK_SIZE];
+        decryptBlocks(oneBlock, 0, result, 0, 1);
+        return result;
+    }
+
+    @Override
+    public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        encryptBlocks(in, inOff, out, outOff, 1);
+    }
+
+    @Override
+    public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        decryptBlocks(in, inOff, out, outOff, 1);
+    }
+
+    @Override
+    public void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        byte[] scratch = SCRATCH.get();
+        while (amountBlocks > 0) {
+            int lanes = lanesFor(amountBlocks);
+            for (int lane = 0; lane < lanes; lane++) {
+                System.arraycopy(in, inOff + lane * BLOCK_SIZE, scratch, lane * SCRATCH_SIZE + STATE, BLOCK_SIZE);
+            }
+            rounds(scratch, lanes);
+            for (int lane = 0; lane < lanes; lane++) {
+                System.arraycopy(scratch, lane * SCRATCH_SIZE + STATE, out, outOff + lane * BLOCK_SIZE, BLOCK_SIZE);
+            }
+            amountBlocks -= lanes;
+            inOff += lanes * BLOCK_SIZE;
+            outOff += lanes * BLOCK_SIZE;
+        }
+    }
+
+    // decrypt = V(encrypt(V(x))), V меняет половины блока местами
+    @Override
+    public void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        byte[] scratch = SCRATCH.get();
+        while (amountBlocks > 0) {
+            int lanes = lanesFor(amountBlocks);
+            for (int lane = 0; lane < lanes; lane++) {
+                int base = lane * SCRATCH_SIZE + STATE;
+                int blockOff = inOff + lane * BLOCK_SIZE;
+                System.arraycopy(in, blockOff + HALF, scratch, base, HALF);
+                System.arraycopy(in, blockOff, scratch, base + HALF, HALF);
+            }
+            rounds(scratch, lanes);
+            for (int lane = 0; lane < lanes; lane++) {
+                int base = lane * SCRATCH_SIZE + STATE;
+                int blockOff = outOff + lane * BLOCK_SIZE;
+                System.arraycopy(scratch, base + HALF, out, blockOff, HALF);
+                System.arraycopy(scratch, base, out, blockOff + HALF, HALF);
+            }
+            amountBlocks -= lanes;
+            inOff += lanes * BLOCK_SIZE;
+            outOff += lanes * BLOCK_SIZE;
+        }
+    }
+
+    @Override
+    public int getBlockSize() {
+        return BLOCK_SIZE;
+    }
+
+    private static int lanesFor(int amountBlocks) {
+        if (amountBlocks >= 8) {
+            return 8;
+        }
+        return amountBlocks >= 4 ? 4 : 1;
+    }
+
+    // каждый шаг выполняется сразу для всех lanes блоков, поиски по таблице разных блоков не зависят друг от друга
+    private void rounds(byte[] scratch, int lanes) {
+        byte[] roundKeys = this.roundKeys;
+        for (int j : keyPattern) {
+            for (int lane = 0; lane < lanes; lane++) {
+                int base = lane * SCRATCH_SIZE;
+                System.arraycopy(scratch, base + STATE + HALF, scratch, base + W, HALF);
+                System.arraycopy(roundKeys, j * HALF, scratch, base + W + HALF, HALF);
+            }
+            e(scratch, lanes);
+            for (int lane = 0; lane < lanes; lane++) {
+                int base = lane * SCRATCH_SIZE;
+                for (int i = 0; i < HALF; i++) {
+                    byte left = scratch[base + STATE + i];
+                    scratch[base + STATE + i] = scratch[base + STATE + HALF + i];
+                    scratch[base + STATE + HALF + i] = (byte) (left ^ scratch[base + C + 2 * i]);
+                }
+            }
+        }
+    }
+
+    // E(W): результат - четные байты scratch[C..C+16) каждого lane
+    private static void e(byte[] scratch, int lanes) {
+        for (int lane = 0; lane < lanes; lane++) {
+            int base = lane * SCRATCH_SIZE;
+            System.arraycopy(scratch, base + W, scratch, base + S0, BLOCK_SIZE);
+        }
+
+        t(scratch, W, lanes);
+        mixHalf(scratch, lanes, R, S0, W, 0);
+        t(scratch, W, lanes);
+        mixHalf(scratch, lanes, R + HALF, S0 + HALF, W, 1);
+        for (int lane = 0; lane < lanes; lane++) {
+            int base = lane * SCRATCH_SIZE;
+            System.arraycopy(scratch, base + W, scratch, base + S2, BLOCK_SIZE);
+        }
+
+        t(scratch, R, lanes);
+        mixHalf(scratch, lanes, C, S0, R, 0);
+
+        t(scratch, W, lanes);
+        mixHalf(scratch, lanes, R, S2, W, 0);
+        t(scratch, W, lanes);
+        mixHalf(scratch, lanes, R + HALF, S2 + HALF, W, 1);
+
+        t(scratch, R, lanes);
+        mixHalf(scratch, lanes, C + HALF, S0 + HALF, R, 1);
+
+        t(scratch, C, lanes);
+    }
+
+    // dst[i] = half[i] ^ src[2 * i + parity]: xor половины с четными (parity = 0) или нечетными байтами src
+    private static void mixHalf(byte[] scratch, int lanes, int dst, int half, int src, int parity) {
+        for (int lane = 0; lane < lanes; lane++) {
+            int base = lane * SCRATCH_SIZE;
+            for (int i = 0; i < HALF; i++) {
+                scratch[base + dst + i] = (byte) (scratch[base + half + i] ^ scratch[base + src + 2 * i + parity]);
+            }
+        }
+    }
+
+    // T = PI^4; PI повторяет Magenta.pi: байты 0..7 = A(x[i], x[i + 8]), байт 8 = A(x[15], x[7]), 9..15 не меняются
+    private static void t(byte[] x, int off, int lanes) {
+        SBoxTables a = S_BOX;
+        for (int round = 0; round < 4; round++) {
+            for (int lane = 0; lane < lanes; lane++) {
+                int o = lane * SCRATCH_SIZE + off;
+                byte last = a.a((x[o + 15] & 0xFF) << 8 | (x[o + 7] & 0xFF));
+                for (int i = 0; i < HALF; i++) {
+                    x[o + i] = a.a((x[o + i] & 0xFF) << 8 | (x[o + i + HALF] & 0xFF));
+                }
+                x[o + HALF] = last;
+            }
+        }
+    }
+}
@@ -4,7 +4,8 @@ package org.example.frontend.cipher.magenta;
 import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
 import org.example.frontend.cipher.interfaces.KeyExpansion;
 import org.example.frontend.cipher.magenta.enums.MagentaKeyLength;
-import org.example.frontend.cipher.magenta.supply.GeneratorSBlock;
+import org.example.frontend.cipher.magenta.supply.SBoxRegistry;
+import org.example.frontend.cipher.magenta.supply.SBoxTables;
 
 public class Magenta implements EncryptorDecryptorSymmetric {
 
@@ -12,7 +13,7 @@ public class Magenta implements EncryptorDecryptorSymmetric {
     private byte[] key = null;
     private final KeyExpansion keyExpansion;
     private byte[][] roundKeys = null;
-    private final byte[] sBlock;
+    private final SBoxTables sBlock = SBoxRegistry.get(SBoxRegistry.MAGENTA_POLY);
 
     public Magenta(MagentaKeyLength keyLength, byte[] key) {
         keyExpansion = new MagentaKeyExpansion();
@@ -20,8 +21,6 @@ public class Magenta implements EncryptorDecryptorSymmetric {
             throw new IllegalArgumentException("Key is not a valid RC6 key");
         }
         setKey(key);
-        GeneratorSBlock generatorSBlock = new GeneratorSBlock((byte) 0x65);
-        sBlock = generatorSBlock.getSBlock();
     }
 
     @Override
@@ -62,6 +61,20 @@ public class Magenta implements EncryptorDecryptorSymmetric {
         return v(encrypt(v(oneBlock)));
     }
 
+    @Override
+    public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        byte[] block = new byte[BLOCK_SIZE];
+        System.arraycopy(in, inOff, block, 0, BLOCK_SIZE);
+        System.arraycopy(encrypt(block), 0, out, outOff, BLOCK_SIZE);
+    }
+
+    @Override
+    public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        byte[] block = new byte[BLOCK_SIZE];
+        System.arraycopy(in, inOff, block, 0, BLOCK_SIZE);
+        System.arraycopy(decrypt(block), 0, out, outOff, BLOCK_SIZE);
+    }
+
     @Override
     public int getBlockSize() {
         return BLOCK_SIZE;
@@ -77,7 +90,7 @@ public class Magenta implements EncryptorDecryptorSymmetric {
 
 
     private byte f(byte x) {
-        return this.sBlock[Byte.toUnsignedInt(x)];
+        return this.sBlock.f(x);
     }
 
     private byte a(byte x, byte y) {
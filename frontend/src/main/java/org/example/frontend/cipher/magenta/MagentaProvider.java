@@ -0,0 +1,35 @@
+package org.example.frontend.cipher.magenta;
+
+import org.example.frontend.cipher.interfaces.CipherProvider;
+import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
+import org.example.frontend.cipher.magenta.enums.MagentaKeyLength;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class MagentaProvider implements CipherProvider {
+
+    @Override
+    public String getName() {
+        return "MAGENTA";
+    }
+
+    @Override
+    public int getBlockSize() {
+        return 16;
+    }
+
+    @Override
+    public List<Integer> getKeyBitLengths() {
+        return Arrays.stream(MagentaKeyLength.values()).map(length -> length.getKeyLengthInBytes() * 8).toList();
+    }
+
+    @Override
+    public EncryptorDecryptorSymmetric create(byte[] key) {
+        MagentaKeyLength keyLength = Arrays.stream(MagentaKeyLength.values())
+                .filter(length -> length.getKeyLengthInBytes() == key.length)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unexpected key length: " + key.length * 8));
+        return new FastMagenta(keyLength, key);
+    }
+}
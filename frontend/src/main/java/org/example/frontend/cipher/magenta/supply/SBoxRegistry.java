@@ -0,0 +1,46 @@
+package org.example.frontend.cipher.magenta.supply;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.example.frontend.cipher.utils.GaloisField;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Таблицы S-блоков на весь процесс, по одной на многочлен; шифры ссылаются на них без копирования
+@Slf4j
+@UtilityClass
+public class SBoxRegistry {
+
+    public static final byte MAGENTA_POLY = (byte) 0x65;
+
+    private static final AtomicReferenceArray<SBoxTables> TABLES = new AtomicReferenceArray<>(256);
+
+    public static SBoxTables get(byte poly) {
+        int index = poly & 0xFF;
+        SBoxTables tables = TABLES.get(index);
+        if (tables == null) {
+            TABLES.compareAndSet(index, null, new SBoxTables(poly, collectSBlock(poly)));
+            tables = TABLES.get(index);
+        }
+        return tables;
+    }
+
+    // вызывается при старте приложения, чтобы первое сообщение не платило за построение таблиц
+    public static void warmUp() {
+        long start = System.nanoTime();
+        get(MAGENTA_POLY);
+        log.info("S-box tables ready in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // F(i) = x^i mod (x^8 + poly), F(255) = 0
+    private static byte[] collectSBlock(byte poly) {
+        GaloisField field = GaloisField.of(poly);
+        byte[] sBox = new byte[256];
+        sBox[0] = (byte) 0x01;
+        for (int i = 1; i < 256; i++) {
+            sBox[i] = field.multiply(sBox[i - 1], (byte) 0x02);
+        }
+        sBox[sBox.length - 1] = (byte) 0x00;
+        return sBox;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.frontend.cipher.magenta.supply;
+
+// Неизменяемый набор таблиц одного многочлена: F (S-блок Magenta), F(F(x)), обратная к F и A(x, y) = F(x ^ F(y)).
+// Массивы наружу не отдаются, только поэлементный доступ или копии
+public final class SBoxTables {
+
+    private final byte poly;
+    private final byte[] f;
+    private final byte[] ff;
+    private final byte[] inverse;
+    private final byte[] a;
+
+    SBoxTables(byte poly, byte[] f) {
+        this.poly = poly;
+        this.f = f;
+
+        ff = new byte[256];
+        for (int x = 0; x < 256; x++) {
+            ff[x] = f[f[x] & 0xFF];
+        }
+
+        // F - перестановка, только если x примитивен по модулю poly
+        byte[] inv = new byte[256];
+        boolean[] seen = new boolean[256];
+        boolean bijective = true;
+        for (int x = 0; x < 256 && bijective; x++) {
+            int y = f[x] & 0xFF;
+            bijective = !seen[y];
+            seen[y] = true;
+            inv[y] = (byte) x;
+        }
+        inverse = bijective ? inv : null;
+
+        a = new byte[256 * 256];
+        for (int x = 0; x < 256; x++) {
+            for (int y = 0; y < 256; y++) {
+                a[(x << 8) | y] = f[(x ^ f[y]) & 0xFF];
+            }
+        }
+    }
+
+    public byte getPoly() {
+        return poly;
+    }
+
+    public byte f(int x) {
+        return f[x & 0xFF];
+    }
+
+    public byte ff(int x) {
+        return ff[x & 0xFF];
+    }
+
+    public boolean hasInverse() {
+        return inverse != null;
+    }
+
+    public byte inverse(int y) {
+        if (inverse == null) {
+            throw new IllegalStateException("S-box for poly " + (poly & 0xFF) + " is not a permutation");
+        }
+        return inverse[y & 0xFF];
+    }
+
+    // index = (x << 8) | y
+    public byte a(int index) {
+        return a[index];
+    }
+
+    public byte[] copyF() {
+        return f.clone();
+    }
+
+    public byte[] copyA() {
+        return a.clone();
+    }
+}
@@ -2,19 +2,26 @@ package org.example.frontend.cipher.rc6;
 
 import lombok.extern.slf4j.Slf4j;
 import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
-import org.example.frontend.cipher.interfaces.KeyExpansion;
 import org.example.frontend.cipher.rc6.enums.RC6KeyLength;
 
 
-import java.nio.ByteBuffer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteOrder;
 
 @Slf4j
 public class RC6 implements EncryptorDecryptorSymmetric {
 
     private static final int BLOCK_SIZE = 16;
+    private static final VarHandle WORD = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // векторное ядро для пачек независимых блоков (ECB, CTR/RD, расшифрование CBC/CFB), если доступен
+    // jdk.incubator.vector и вектор вмещает хотя бы 4 блока; отключается -Dcrypto.rc6.scalar=true
+    private static final boolean VECTOR_ENABLED = !Boolean.getBoolean("crypto.rc6.scalar")
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && VectorRC6.isSupported();
     private byte[] key = null;
-    private final KeyExpansion keyExpansion;
+    private final RC6KeyExpansionImpl keyExpansion;
     int[] s = null;
 
     public RC6(RC6KeyLength rc6KeyLength, byte[] key) {
@@ -36,62 +43,70 @@ public class RC6 implements EncryptorDecryptorSymmetric {
             throw new IllegalArgumentException("Key length does not match symmetric key length");
         }
         this.key = symmetricKey;
-
-        byte[][] roundKeys = this.keyExpansion.generateRoundKeys(this.key);
-        ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
-        s = new int[roundKeys.length];
-
-        for (int i = 0; i < roundKeys.length; i++) {
-            buffer.put(roundKeys[i]);
-            buffer.flip();
-            s[i] = buffer.getInt();
-            buffer.clear();
-        }
+        s = this.keyExpansion.generateRoundKeyWords(this.key);
     }
 
     @Override
     public byte[] encrypt(byte[] oneBlock) {
-        return encryptDecryptInner(oneBlock, true);
+        byte[] result = new byte[BLOCK_SIZE];
+        encryptBlocks(oneBlock, 0, result, 0, 1);
+        return result;
     }
 
     @Override
     public byte[] decrypt(byte[] oneBlock) {
-        return encryptDecryptInner(oneBlock, false);
+        byte[] result = new byte[BLOCK_SIZE];
+        decryptBlocks(oneBlock, 0, result, 0, 1);
+        return result;
     }
 
-    private byte[] encryptDecryptInner(byte[] oneBlock, boolean isEncrypt) {
-        ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+    @Override
+    public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        encryptBlocks(in, inOff, out, outOff, 1);
+    }
 
-        byte[] workingBlock = oneBlock.clone();
+    @Override
+    public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        decryptBlocks(in, inOff, out, outOff, 1);
+    }
 
-        int[] parts = new int[4];
+    @Override
+    public void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        int[] s = this.s;
+        int amountRounds = (s.length - 4) / 2;
+
+        if (VECTOR_ENABLED && amountBlocks >= VectorRC6.LANES) {
+            int done = VectorRC6.encryptBlocks(s, amountRounds, in, inOff, out, outOff, amountBlocks);
+            amountBlocks -= done;
+            inOff += done * BLOCK_SIZE;
+            outOff += done * BLOCK_SIZE;
+        }
 
-        for (int i = 0; i < 4; i++) {
-            byte[] oneWord = new byte[BLOCK_SIZE / 4];
-            System.arraycopy(workingBlock, i*4, oneWord, 0, oneWord.length);
-            buffer.put(oneWord);
-            buffer.flip();
-            parts[i] = buffer.getInt();
-            buffer.clear();
+        for (; amountBlocks >= 8; amountBlocks -= 8, inOff += 8 * BLOCK_SIZE, outOff += 8 * BLOCK_SIZE) {
+            encrypt8(in, inOff, out, outOff, s, amountRounds);
+        }
+        if (amountBlocks >= 4) {
+            encrypt4(in, inOff, out, outOff, s, amountRounds);
+            amountBlocks -= 4;
+            inOff += 4 * BLOCK_SIZE;
+            outOff += 4 * BLOCK_SIZE;
         }
 
-        int a = parts[0];
-        int b = parts[1];
-        int c = parts[2];
-        int d = parts[3];
+        for (int k = 0; k < amountBlocks; k++, inOff += BLOCK_SIZE, outOff += BLOCK_SIZE) {
+            int a = (int) WORD.get(in, inOff);
+            int b = (int) WORD.get(in, inOff + 4);
+            int c = (int) WORD.get(in, inOff + 8);
+            int d = (int) WORD.get(in, inOff + 12);
 
-        if (isEncrypt) {
             //pre-whitening
-            b =(int) (Integer.toUnsignedLong(b) + Integer.toUnsignedLong(s[0]));
-            d = (int) (Integer.toUnsignedLong(d) + Integer.toUnsignedLong(s[1]));
-
-            int amountRounds = (s.length - 4) / 2;
+            b += s[0];
+            d += s[1];
 
             for (int i = 1; i <= amountRounds; i++) {
-                int t = leftShift( (int) (Integer.toUnsignedLong(b) * (Integer.toUnsignedLong(b) * 2  + 1 )), 5 );
-                int u = leftShift((int) (Integer.toUnsignedLong(d) * (2 * Integer.toUnsignedLong(d) + 1)),5);
-                a = (int) (Integer.toUnsignedLong( leftShift((int) (Integer.toUnsignedLong(a) ^ Integer.toUnsignedLong(t)), u) ) + Integer.toUnsignedLong(s[2*i]));
-                c = (int) (Integer.toUnsignedLong( leftShift((int) (Integer.toUnsignedLong(c) ^ Integer.toUnsignedLong(u)), t) ) + Integer.toUnsignedLong(s[2*i + 1]));
+                int t = Integer.rotateLeft(b * (2 * b + 1), 5);
+                int u = Integer.rotateLeft(d * (2 * d + 1), 5);
+                a = Integer.rotateLeft(a ^ t, u) + s[2 * i];
+                c = Integer.rotateLeft(c ^ u, t) + s[2 * i + 1];
 
                 int tmp = a;
                 a = b;
@@ -101,49 +116,70 @@ public class RC6 implements EncryptorDecryptorSymmetric {
             }
 
             //post-whitening
-            a = (int) ( Integer.toUnsignedLong(a) + Integer.toUnsignedLong(s[2*amountRounds + 2]));
-            c = (int) (Integer.toUnsignedLong(c) + Integer.toUnsignedLong(s[2*amountRounds + 3]));
-        } else {
-            int amountRounds = (s.length - 4) / 2;
-            //pre-whitening reverse
-            c  =(int) (Integer.toUnsignedLong(c) - Integer.toUnsignedLong(s[2 * amountRounds + 3]));
-            a = (int) (Integer.toUnsignedLong(a) - Integer.toUnsignedLong(s[2*amountRounds + 2]));
+            a += s[2 * amountRounds + 2];
+            c += s[2 * amountRounds + 3];
 
+            WORD.set(out, outOff, a);
+            WORD.set(out, outOff + 4, b);
+            WORD.set(out, outOff + 8, c);
+            WORD.set(out, outOff + 12, d);
+        }
+    }
 
+    @Override
+    public void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        int[] s = this.s;
+        int amountRounds = (s.length - 4) / 2;
+
+        if (VECTOR_ENABLED && amountBlocks >= VectorRC6.LANES) {
+            int done = VectorRC6.decryptBlocks(s, amountRounds, in, inOff, out, outOff, amountBlocks);
+            amountBlocks -= done;
+            inOff += done * BLOCK_SIZE;
+            outOff += done * BLOCK_SIZE;
+        }
 
-            for (int i = amountRounds; i >= 1; i--) {
+        for (; amountBlocks >= 8; amountBlocks -= 8, inOff += 8 * BLOCK_SIZE, outOff += 8 * BLOCK_SIZE) {
+            decrypt8(in, inOff, out, outOff, s, amountRounds);
+        }
+        if (amountBlocks >= 4) {
+            decrypt4(in, inOff, out, outOff, s, amountRounds);
+            amountBlocks -= 4;
+            inOff += 4 * BLOCK_SIZE;
+            outOff += 4 * BLOCK_SIZE;
+        }
 
+        for (int k = 0; k < amountBlocks; k++, inOff += BLOCK_SIZE, outOff += BLOCK_SIZE) {
+            int a = (int) WORD.get(in, inOff);
+            int b = (int) WORD.get(in, inOff + 4);
+            int c = (int) WORD.get(in, inOff + 8);
+            int d = (int) WORD.get(in, inOff + 12);
+
+            //pre-whitening reverse
+            c -= s[2 * amountRounds + 3];
+            a -= s[2 * amountRounds + 2];
+
+            for (int i = amountRounds; i >= 1; i--) {
                 int tmp = d;
                 d = c;
                 c = b;
                 b = a;
                 a = tmp;
 
-                int t = leftShift( (int) (Integer.toUnsignedLong(b) * (Integer.toUnsignedLong(b) * 2  + 1 )), 5 );
-                int u = leftShift((int) (Integer.toUnsignedLong(d) * (2 * Integer.toUnsignedLong(d) + 1)),5);
-
-                c = (int) ( Integer.toUnsignedLong(rightShift( (int)(Integer.toUnsignedLong(c) - Integer.toUnsignedLong(s[2*i + 1]) ), t) ) ^ Integer.toUnsignedLong(u));
-                a = (int) ( Integer.toUnsignedLong(rightShift( (int)(Integer.toUnsignedLong(a) - Integer.toUnsignedLong(s[2*i])),u)) ^ Integer.toUnsignedLong(t));
+                int t = Integer.rotateLeft(b * (2 * b + 1), 5);
+                int u = Integer.rotateLeft(d * (2 * d + 1), 5);
+                c = Integer.rotateRight(c - s[2 * i + 1], t) ^ u;
+                a = Integer.rotateRight(a - s[2 * i], u) ^ t;
             }
 
             //post-whitening
-            d = (int) ( Integer.toUnsignedLong(d) - Integer.toUnsignedLong(s[1]));
-            b = (int) (Integer.toUnsignedLong(b) - Integer.toUnsignedLong(s[0]));
-        }
-
-        parts[0] = a;
-        parts[1] = b;
-        parts[2] = c;
-        parts[3] = d;
+            d -= s[1];
+            b -= s[0];
 
-        for (int i = 0; i < 4; i++) {
-            buffer.putInt(parts[i]);
-            System.arraycopy(buffer.array(), 0, workingBlock, i*4, buffer.array().length);
-            buffer.clear();
+            WORD.set(out, outOff, a);
+            WORD.set(out, outOff + 4, b);
+            WORD.set(out, outOff + 8, c);
+            WORD.set(out, outOff + 12, d);
         }
-        return workingBlock;
-
-
     }
 
     @Override
@@ -151,14 +187,494 @@ public class RC6 implements EncryptorDecryptorSymmetric {
         return BLOCK_SIZE;
     }
 
+    // независимые блоки шифруются вперемешку (4 и 8 штук за проход), чтобы умножения и сдвиги
+    // разных блоков перекрывались в конвейере
+    private void encrypt4(byte[] in, int inOff, byte[] out, int outOff, int[] s, int amountRounds) {
+        int a0 = (int) WORD.get(in, inOff);
+        int b0 = (int) WORD.get(in, inOff + 4);
+        int c0 = (int) WORD.get(in, inOff + 8);
+        int d0 = (int) WORD.get(in, inOff + 12);
+        int a1 = (int) WORD.get(in, inOff + 16);
+        int b1 = (int) WORD.get(in, inOff + 20);
+        int c1 = (int) WORD.get(in, inOff + 24);
+        int d1 = (int) WORD.get(in, inOff + 28);
+        int a2 = (int) WORD.get(in, inOff + 32);
+        int b2 = (int) WORD.get(in, inOff + 36);
+        int c2 = (int) WORD.get(in, inOff + 40);
+        int d2 = (int) WORD.get(in, inOff + 44);
+        int a3 = (int) WORD.get(in, inOff + 48);
+        int b3 = (int) WORD.get(in, inOff + 52);
+        int c3 = (int) WORD.get(in, inOff + 56);
+        int d3 = (int) WORD.get(in, inOff + 60);
+
+        int s0 = s[0];
+        int s1 = s[1];
+        b0 += s0;
+        b1 += s0;
+        b2 += s0;
+        b3 += s0;
+        d0 += s1;
+        d1 += s1;
+        d2 += s1;
+        d3 += s1;
+
+        for (int i = 1; i <= amountRounds; i++) {
+            int sa = s[2 * i];
+            int sc = s[2 * i + 1];
+            int t0 = Integer.rotateLeft(b0 * (2 * b0 + 1), 5);
+            int u0 = Integer.rotateLeft(d0 * (2 * d0 + 1), 5);
+            int t1 = Integer.rotateLeft(b1 * (2 * b1 + 1), 5);
+            int u1 = Integer.rotateLeft(d1 * (2 * d1 + 1), 5);
+            int t2 = Integer.rotateLeft(b2 * (2 * b2 + 1), 5);
+            int u2 = Integer.rotateLeft(d2 * (2 * d2 + 1), 5);
+            int t3 = Integer.rotateLeft(b3 * (2 * b3 + 1), 5);
+            int u3 = Integer.rotateLeft(d3 * (2 * d3 + 1), 5);
+            int na0 = Integer.rotateLeft(a0 ^ t0, u0) + sa;
+            int nc0 = Integer.rotateLeft(c0 ^ u0, t0) + sc;
+            int na1 = Integer.rotateLeft(a1 ^ t1, u1) + sa;
+            int nc1 = Integer.rotateLeft(c1 ^ u1, t1) + sc;
+            int na2 = Integer.rotateLeft(a2 ^ t2, u2) + sa;
+            int nc2 = Integer.rotateLeft(c2 ^ u2, t2) + sc;
+            int na3 = Integer.rotateLeft(a3 ^ t3, u3) + sa;
+            int nc3 = Integer.rotateLeft(c3 ^ u3, t3) + sc;
+            a0 = b0;
+            b0 = nc0;
+            c0 = d0;
+            d0 = na0;
+            a1 = b1;
+            b1 = nc1;
+            c1 = d1;
+            d1 = na1;
+            a2 = b2;
+            b2 = nc2;
+            c2 = d2;
+            d2 = na2;
+            a3 = b3;
+            b3 = nc3;
+            c3 = d3;
+            d3 = na3;
+        }
 
-    private int leftShift(int x, int shift) {
-        return (x << shift) | ( x >>> (32 - shift));
+        int sa = s[2 * amountRounds + 2];
+        int sc = s[2 * amountRounds + 3];
+        WORD.set(out, outOff, a0 + sa);
+        WORD.set(out, outOff + 4, b0);
+        WORD.set(out, outOff + 8, c0 + sc);
+        WORD.set(out, outOff + 12, d0);
+        WORD.set(out, outOff + 16, a1 + sa);
+        WORD.set(out, outOff + 20, b1);
+        WORD.set(out, outOff + 24, c1 + sc);
+        WORD.set(out, outOff + 28, d1);
+        WORD.set(out, outOff + 32, a2 + sa);
+        WORD.set(out, outOff + 36, b2);
+        WORD.set(out, outOff + 40, c2 + sc);
+        WORD.set(out, outOff + 44, d2);
+        WORD.set(out, outOff + 48, a3 + sa);
+        WORD.set(out, outOff + 52, b3);
+        WORD.set(out, outOff + 56, c3 + sc);
+        WORD.set(out, outOff + 60, d3);
     }
 
-    private int rightShift(int x, int shift) {
-        return (x >>> shift) | ( x << (32 - shift));
+    private void encrypt8(byte[] in, int inOff, byte[] out, int outOff, int[] s, int amountRounds) {
+        int a0 = (int) WORD.get(in, inOff);
+        int b0 = (int) WORD.get(in, inOff + 4);
+        int c0 = (int) WORD.get(in, inOff + 8);
+        int d0 = (int) WORD.get(in, inOff + 12);
+        int a1 = (int) WORD.get(in, inOff + 16);
+        int b1 = (int) WORD.get(in, inOff + 20);
+        int c1 = (int) WORD.get(in, inOff + 24);
+        int d1 = (int) WORD.get(in, inOff + 28);
+        int a2 = (int) WORD.get(in, inOff + 32);
+        int b2 = (int) WORD.get(in, inOff + 36);
+        int c2 = (int) WORD.get(in, inOff + 40);
+        int d2 = (int) WORD.get(in, inOff + 44);
+        int a3 = (int) WORD.get(in, inOff + 48);
+        int b3 = (int) WORD.get(in, inOff + 52);
+        int c3 = (int) WORD.get(in, inOff + 56);
+        int d3 = (int) WORD.get(in, inOff + 60);
+        int a4 = (int) WORD.get(in, inOff + 64);
+        int b4 = (int) WORD.get(in, inOff + 68);
+        int c4 = (int) WORD.get(in, inOff + 72);
+        int d4 = (int) WORD.get(in, inOff + 76);
+        int a5 = (int) WORD.get(in, inOff + 80);
+        int b5 = (int) WORD.get(in, inOff + 84);
+        int c5 = (int) WORD.get(in, inOff + 88);
+        int d5 = (int) WORD.get(in, inOff + 92);
+        int a6 = (int) WORD.get(in, inOff + 96);
+        int b6 = (int) WORD.get(in, inOff + 100);
+        int c6 = (int) WORD.get(in, inOff + 104);
+        int d6 = (int) WORD.get(in, inOff + 108);
+        int a7 = (int) WORD.get(in, inOff + 112);
+        int b7 = (int) WORD.get(in, inOff + 116);
+        int c7 = (int) WORD.get(in, inOff + 120);
+        int d7 = (int) WORD.get(in, inOff + 124);
+
+        int s0 = s[0];
+        int s1 = s[1];
+        b0 += s0;
+        b1 += s0;
+        b2 += s0;
+        b3 += s0;
+        b4 += s0;
+        b5 += s0;
+        b6 += s0;
+        b7 += s0;
+        d0 += s1;
+        d1 += s1;
+        d2 += s1;
+        d3 += s1;
+        d4 += s1;
+        d5 += s1;
+        d6 += s1;
+        d7 += s1;
+
+        for (int i = 1; i <= amountRounds; i++) {
+            int sa = s[2 * i];
+            int sc = s[2 * i + 1];
+            int t0 = Integer.rotateLeft(b0 * (2 * b0 + 1), 5);
+            int u0 = Integer.rotateLeft(d0 * (2 * d0 + 1), 5);
+            int t1 = Integer.rotateLeft(b1 * (2 * b1 + 1), 5);
+            int u1 = Integer.rotateLeft(d1 * (2 * d1 + 1), 5);
+            int t2 = Integer.rotateLeft(b2 * (2 * b2 + 1), 5);
+            int u2 = Integer.rotateLeft(d2 * (2 * d2 + 1), 5);
+            int t3 = Integer.rotateLeft(b3 * (2 * b3 + 1), 5);
+            int u3 = Integer.rotateLeft(d3 * (2 * d3 + 1), 5);
+            int t4 = Integer.rotateLeft(b4 * (2 * b4 + 1), 5);
+            int u4 = Integer.rotateLeft(d4 * (2 * d4 + 1), 5);
+            int t5 = Integer.rotateLeft(b5 * (2 * b5 + 1), 5);
+            int u5 = Integer.rotateLeft(d5 * (2 * d5 + 1), 5);
+            int t6 = Integer.rotateLeft(b6 * (2 * b6 + 1), 5);
+            int u6 = Integer.rotateLeft(d6 * (2 * d6 + 1), 5);
+            int t7 = Integer.rotateLeft(b7 * (2 * b7 + 1), 5);
+            int u7 = Integer.rotateLeft(d7 * (2 * d7 + 1), 5);
+            int na0 = Integer.rotateLeft(a0 ^ t0, u0) + sa;
+            int nc0 = Integer.rotateLeft(c0 ^ u0, t0) + sc;
+            int na1 = Integer.rotateLeft(a1 ^ t1, u1) + sa;
+            int nc1 = Integer.rotateLeft(c1 ^ u1, t1) + sc;
+            int na2 = Integer.rotateLeft(a2 ^ t2, u2) + sa;
+            int nc2 = Integer.rotateLeft(c2 ^ u2, t2) + sc;
+            int na3 = Integer.rotateLeft(a3 ^ t3, u3) + sa;
+            int nc3 = Integer.rotateLeft(c3 ^ u3, t3) + sc;
+            int na4 = Integer.rotateLeft(a4 ^ t4, u4) + sa;
+            int nc4 = Integer.rotateLeft(c4 ^ u4, t4) + sc;
+            int na5 = Integer.rotateLeft(a5 ^ t5, u5) + sa;
+            int nc5 = Integer.rotateLeft(c5 ^ u5, t5) + sc;
+            int na6 = Integer.rotateLeft(a6 ^ t6, u6) + sa;
+            int nc6 = Integer.rotateLeft(c6 ^ u6, t6) + sc;
+            int na7 = Integer.rotateLeft(a7 ^ t7, u7) + sa;
+            int nc7 = Integer.rotateLeft(c7 ^ u7, t7) + sc;
+            a0 = b0;
+            b0 = nc0;
+            c0 = d0;
+            d0 = na0;
+            a1 = b1;
+            b1 = nc1;
+            c1 = d1;
+            d1 = na1;
+            a2 = b2;
+            b2 = nc2;
+            c2 = d2;
+            d2 = na2;
+            a3 = b3;
+            b3 = nc3;
+            c3 = d3;
+            d3 = na3;
+            a4 = b4;
+            b4 = nc4;
+            c4 = d4;
+            d4 = na4;
+            a5 = b5;
+            b5 = nc5;
+            c5 = d5;
+            d5 = na5;
+            a6 = b6;
+            b6 = nc6;
+            c6 = d6;
+            d6 = na6;
+            a7 = b7;
+            b7 = nc7;
+            c7 = d7;
+            d7 = na7;
+        }
+
+        int sa = s[2 * amountRounds + 2];
+        int sc = s[2 * amountRounds + 3];
+        WORD.set(out, outOff, a0 + sa);
+        WORD.set(out, outOff + 4, b0);
+        WORD.set(out, outOff + 8, c0 + sc);
+        WORD.set(out, outOff + 12, d0);
+        WORD.set(out, outOff + 16, a1 + sa);
+        WORD.set(out, outOff + 20, b1);
+        WORD.set(out, outOff + 24, c1 + sc);
+        WORD.set(out, outOff + 28, d1);
+        WORD.set(out, outOff + 32, a2 + sa);
+        WORD.set(out, outOff + 36, b2);
+        WORD.set(out, outOff + 40, c2 + sc);
+        WORD.set(out, outOff + 44, d2);
+        WORD.set(out, outOff + 48, a3 + sa);
+        WORD.set(out, outOff + 52, b3);
+        WORD.set(out, outOff + 56, c3 + sc);
+        WORD.set(out, outOff + 60, d3);
+        WORD.set(out, outOff + 64, a4 + sa);
+        WORD.set(out, outOff + 68, b4);
+        WORD.set(out, outOff + 72, c4 + sc);
+        WORD.set(out, outOff + 76, d4);
+        WORD.set(out, outOff + 80, a5 + sa);
+        WORD.set(out, outOff + 84, b5);
+        WORD.set(out, outOff + 88, c5 + sc);
+        WORD.set(out, outOff + 92, d5);
+        WORD.set(out, outOff + 96, a6 + sa);
+        WORD.set(out, outOff + 100, b6);
+        WORD.set(out, outOff + 104, c6 + sc);
+        WORD.set(out, outOff + 108, d6);
+        WORD.set(out, outOff + 112, a7 + sa);
+        WORD.set(out, outOff + 116, b7);
+        WORD.set(out, outOff + 120, c7 + sc);
+        WORD.set(out, outOff + 124, d7);
     }
 
+    private void decrypt4(byte[] in, int inOff, byte[] out, int outOff, int[] s, int amountRounds) {
+        int a0 = (int) WORD.get(in, inOff);
+        int b0 = (int) WORD.get(in, inOff + 4);
+        int c0 = (int) WORD.get(in, inOff + 8);
+        int d0 = (int) WORD.get(in, inOff + 12);
+        int a1 = (int) WORD.get(in, inOff + 16);
+        int b1 = (int) WORD.get(in, inOff + 20);
+        int c1 = (int) WORD.get(in, inOff + 24);
+        int d1 = (int) WORD.get(in, inOff + 28);
+        int a2 = (int) WORD.get(in, inOff + 32);
+        int b2 = (int) WORD.get(in, inOff + 36);
+        int c2 = (int) WORD.get(in, inOff + 40);
+        int d2 = (int) WORD.get(in, inOff + 44);
+        int a3 = (int) WORD.get(in, inOff + 48);
+        int b3 = (int) WORD.get(in, inOff + 52);
+        int c3 = (int) WORD.get(in, inOff + 56);
+        int d3 = (int) WORD.get(in, inOff + 60);
+
+        int sa = s[2 * amountRounds + 2];
+        int sc = s[2 * amountRounds + 3];
+        c0 -= sc;
+        c1 -= sc;
+        c2 -= sc;
+        c3 -= sc;
+        a0 -= sa;
+        a1 -= sa;
+        a2 -= sa;
+        a3 -= sa;
+
+        for (int i = amountRounds; i >= 1; i--) {
+            int ka = s[2 * i];
+            int kc = s[2 * i + 1];
+            int t0 = Integer.rotateLeft(a0 * (2 * a0 + 1), 5);
+            int u0 = Integer.rotateLeft(c0 * (2 * c0 + 1), 5);
+            int t1 = Integer.rotateLeft(a1 * (2 * a1 + 1), 5);
+            int u1 = Integer.rotateLeft(c1 * (2 * c1 + 1), 5);
+            int t2 = Integer.rotateLeft(a2 * (2 * a2 + 1), 5);
+            int u2 = Integer.rotateLeft(c2 * (2 * c2 + 1), 5);
+            int t3 = Integer.rotateLeft(a3 * (2 * a3 + 1), 5);
+            int u3 = Integer.rotateLeft(c3 * (2 * c3 + 1), 5);
+            int na0 = Integer.rotateRight(d0 - ka, u0) ^ t0;
+            int nc0 = Integer.rotateRight(b0 - kc, t0) ^ u0;
+            int na1 = Integer.rotateRight(d1 - ka, u1) ^ t1;
+            int nc1 = Integer.rotateRight(b1 - kc, t1) ^ u1;
+            int na2 = Integer.rotateRight(d2 - ka, u2) ^ t2;
+            int nc2 = Integer.rotateRight(b2 - kc, t2) ^ u2;
+            int na3 = Integer.rotateRight(d3 - ka, u3) ^ t3;
+            int nc3 = Integer.rotateRight(b3 - kc, t3) ^ u3;
+            d0 = c0;
+            b0 = a0;
+            a0 = na0;
+            c0 = nc0;
+            d1 = c1;
+            b1 = a1;
+            a1 = na1;
+            c1 = nc1;
+            d2 = c2;
+            b2 = a2;
+            a2 = na2;
+            c2 = nc2;
+            d3 = c3;
+            b3 = a3;
+            a3 = na3;
+            c3 = nc3;
+        }
+
+        int s0 = s[0];
+        int s1 = s[1];
+        WORD.set(out, outOff, a0);
+        WORD.set(out, outOff + 4, b0 - s0);
+        WORD.set(out, outOff + 8, c0);
+        WORD.set(out, outOff + 12, d0 - s1);
+        WORD.set(out, outOff + 16, a1);
+        WORD.set(out, outOff + 20, b1 - s0);
+        WORD.set(out, outOff + 24, c1);
+        WORD.set(out, outOff + 28, d1 - s1);
+        WORD.set(out, outOff + 32, a2);
+        WORD.set(out, outOff + 36, b2 - s0);
+        WORD.set(out, outOff + 40, c2);
+        WORD.set(out, outOff + 44, d2 - s1);
+        WORD.set(out, outOff + 48, a3);
+        WORD.set(out, outOff + 52, b3 - s0);
+        WORD.set(out, outOff + 56, c3);
+        WORD.set(out, outOff + 60, d3 - s1);
+    }
+
+    private void decrypt8(byte[] in, int inOff, byte[] out, int outOff, int[] s, int amountRounds) {
+        int a0 = (int) WORD.get(in, inOff);
+        int b0 = (int) WORD.get(in, inOff + 4);
+        int c0 = (int) WORD.get(in, inOff + 8);
+        int d0 = (int) WORD.get(in, inOff + 12);
+        int a1 = (int) WORD.get(in, inOff + 16);
+        int b1 = (int) WORD.get(in, inOff + 20);
+        int c1 = (int) WORD.get(in, inOff + 24);
+        int d1 = (int) WORD.get(in, inOff + 28);
+        int a2 = (int) WORD.get(in, inOff + 32);
+        int b2 = (int) WORD.get(in, inOff + 36);
+        int c2 = (int) WORD.get(in, inOff + 40);
+        int d2 = (int) WORD.get(in, inOff + 44);
+        int a3 = (int) WORD.get(in, inOff + 48);
+        int b3 = (int) WORD.get(in, inOff + 52);
+        int c3 = (int) WORD.get(in, inOff + 56);
+        int d3 = (int) WORD.get(in, inOff + 60);
+        int a4 = (int) WORD.get(in, inOff + 64);
+        int b4 = (int) WORD.get(in, inOff + 68);
+        int c4 = (int) WORD.get(in, inOff + 72);
+        int d4 = (int) WORD.get(in, inOff + 76);
+        int a5 = (int) WORD.get(in, inOff + 80);
+        int b5 = (int) WORD.get(in, inOff + 84);
+        int c5 = (int) WORD.get(in, inOff + 88);
+        int d5 = (int) WORD.get(in, inOff + 92);
+        int a6 = (int) WORD.get(in, inOff + 96);
+        int b6 = (int) WORD.get(in, inOff + 100);
+        int c6 = (int) WORD.get(in, inOff + 104);
+        int d6 = (int) WORD.get(in, inOff + 108);
+        int a7 = (int) WORD.get(in, inOff + 112);
+        int b7 = (int) WORD.get(in, inOff + 116);
+        int c7 = (int) WORD.get(in, inOff + 120);
+        int d7 = (int) WORD.get(in, inOff + 124);
+
+        int sa = s[2 * amountRounds + 2];
+        int sc = s[2 * amountRounds + 3];
+        c0 -= sc;
+        c1 -= sc;
+        c2 -= sc;
+        c3 -= sc;
+        c4 -= sc;
+        c5 -= sc;
+        c6 -= sc;
+        c7 -= sc;
+        a0 -= sa;
+        a1 -= sa;
+        a2 -= sa;
+        a3 -= sa;
+        a4 -= sa;
+        a5 -= sa;
+        a6 -= sa;
+        a7 -= sa;
+
+        for (int i = amountRounds; i >= 1; i--) {
+            int ka = s[2 * i];
+            int kc = s[2 * i + 1];
+            int t0 = Integer.rotateLeft(a0 * (2 * a0 + 1), 5);
+            int u0 = Integer.rotateLeft(c0 * (2 * c0 + 1), 5);
+            int t1 = Integer.rotateLeft(a1 * (2 * a1 + 1), 5);
+            int u1 = Integer.rotateLeft(c1 * (2 * c1 + 1), 5);
+            int t2 = Integer.rotateLeft(a2 * (2 * a2 + 1), 5);
+            int u2 = Integer.rotateLeft(c2 * (2 * c2 + 1), 5);
+            int t3 = Integer.rotateLeft(a3 * (2 * a3 + 1), 5);
+            int u3 = Integer.rotateLeft(c3 * (2 * c3 + 1), 5);
+            int t4 = Integer.rotateLeft(a4 * (2 * a4 + 1), 5);
+            int u4 = Integer.rotateLeft(c4 * (2 * c4 + 1), 5);
+            int t5 = Integer.rotateLeft(a5 * (2 * a5 + 1), 5);
+            int u5 = Integer.rotateLeft(c5 * (2 * c5 + 1), 5);
+            int t6 = Integer.rotateLeft(a6 * (2 * a6 + 1), 5);
+            int u6 = Integer.rotateLeft(c6 * (2 * c6 + 1), 5);
+            int t7 = Integer.rotateLeft(a7 * (2 * a7 + 1), 5);
+            int u7 = Integer.rotateLeft(c7 * (2 * c7 + 1), 5);
+            int na0 = Integer.rotateRight(d0 - ka, u0) ^ t0;
+            int nc0 = Integer.rotateRight(b0 - kc, t0) ^ u0;
+            int na1 = Integer.rotateRight(d1 - ka, u1) ^ t1;
+            int nc1 = Integer.rotateRight(b1 - kc, t1) ^ u1;
+            int na2 = Integer.rotateRight(d2 - ka, u2) ^ t2;
+            int nc2 = Integer.rotateRight(b2 - kc, t2) ^ u2;
+            int na3 = Integer.rotateRight(d3 - ka, u3) ^ t3;
+            int nc3 = Integer.rotateRight(b3 - kc, t3) ^ u3;
+            int na4 = Integer.rotateRight(d4 - ka, u4) ^ t4;
+            int nc4 = Integer.rotateRight(b4 - kc, t4) ^ u4;
+            int na5 = Integer.rotateRight(d5 - ka, u5) ^ t5;
+            int nc5 = Integer.rotateRight(b5 - kc, t5) ^ u5;
+            int na6 = Integer.rotateRight(d6 - ka, u6) ^ t6;
+            int nc6 = Integer.rotateRight(b6 - kc, t6) ^ u6;
+            int na7 = Integer.rotateRight(d7 - ka, u7) ^ t7;
+            int nc7 = Integer.rotateRight(b7 - kc, t7) ^ u7;
+            d0 = c0;
+            b0 = a0;
+            a0 = na0;
+            c0 = nc0;
+            d1 = c1;
+            b1 = a1;
+            a1 = na1;
+            c1 = nc1;
+            d2 = c2;
+            b2 = a2;
+            a2 = na2;
+            c2 = nc2;
+            d3 = c3;
+            b3 = a3;
+            a3 = na3;
+            c3 = nc3;
+            d4 = c4;
+            b4 = a4;
+            a4 = na4;
+            c4 = nc4;
+            d5 = c5;
+            b5 = a5;
+            a5 = na5;
+            c5 = nc5;
+            d6 = c6;
+            b6 = a6;
+            a6 = na6;
+            c6 = nc6;
+            d7 = c7;
+            b7 = a7;
+            a7 = na7;
+            c7 = nc7;
+        }
+
+        int s0 = s[0];
+        int s1 = s[1];
+        WORD.set(out, outOff, a0);
+        WORD.set(out, outOff + 4, b0 - s0);
+        WORD.set(out, outOff + 8, c0);
+        WORD.set(out, outOff + 12, d0 - s1);
+        WORD.set(out, outOff + 16, a1);
+        WORD.set(out, outOff + 20, b1 - s0);
+        WORD.set(out, outOff + 24, c1);
+        WORD.set(out, outOff + 28, d1 - s1);
+        WORD.set(out, outOff + 32, a2);
+        WORD.set(out, outOff + 36, b2 - s0);
+        WORD.set(out, outOff + 40, c2);
+        WORD.set(out, outOff + 44, d2 - s1);
+        WORD.set(out, outOff + 48, a3);
+        WORD.set(out, outOff + 52, b3 - s0);
+        WORD.set(out, outOff + 56, c3);
+        WORD.set(out, outOff + 60, d3 - s1);
+        WORD.set(out, outOff + 64, a4);
+        WORD.set(out, outOff + 68, b4 - s0);
+        WORD.set(out, outOff + 72, c4);
+        WORD.set(out, outOff + 76, d4 - s1);
+        WORD.set(out, outOff + 80, a5);
+        WORD.set(out, outOff + 84, b5 - s0);
+        WORD.set(out, outOff + 88, c5);
+        WORD.set(out, outOff + 92, d5 - s1);
+        WORD.set(out, outOff + 96, a6);
+        WORD.set(out, outOff + 100, b6 - s0);
+        WORD.set(out, outOff + 104, c6);
+        WORD.set(out, outOff + 108, d6 - s1);
+        WORD.set(out, outOff + 112, a7);
+        WORD.set(out, outOff + 116, b7 - s0);
+        WORD.set(out, outOff + 120, c7);
+        WORD.set(out, outOff + 124, d7 - s1);
+    }
 
 }
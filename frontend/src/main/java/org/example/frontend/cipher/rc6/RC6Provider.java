@@ -0,0 +1,35 @@
+package org.example.frontend.cipher.rc6;
+
+import org.example.frontend.cipher.interfaces.CipherProvider;
+import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
+import org.example.frontend.cipher.rc6.enums.RC6KeyLength;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RC6Provider implements CipherProvider {
+
+    @Override
+    public String getName() {
+        return "RC6";
+    }
+
+    @Override
+    public int getBlockSize() {
+        return 16;
+    }
+
+    @Override
+    public List<Integer> getKeyBitLengths() {
+        return Arrays.stream(RC6KeyLength.values()).map(length -> length.getKeyLengthInBytes() * 8).toList();
+    }
+
+    @Override
+    public EncryptorDecryptorSymmetric create(byte[] key) {
+        RC6KeyLength keyLength = Arrays.stream(RC6KeyLength.values())
+                .filter(length -> length.getKeyLengthInBytes() == key.length)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unexpected key length: " + key.length * 8));
+        return new RC6(keyLength, key);
+    }
+}
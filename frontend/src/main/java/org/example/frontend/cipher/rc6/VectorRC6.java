@@ -0,0 +1,128 @@
+package org.example.frontend.cipher.rc6;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+// RC6 на jdk.incubator.vector: в каждой полосе вектора свой блок, слова A, B, C, D всех блоков группы
+// лежат в четырех векторах. Загружается только из RC6 при доступном модуле
+final class VectorRC6 {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final VarHandle WORD = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    static final int LANES = SPECIES.length();
+
+    private VectorRC6() {}
+
+    // 64-битные векторы (2 блока) не быстрее скалярного 4/8-блочного кода
+    static boolean isSupported() {
+        return LANES >= 4;
+    }
+
+    // шифрует целые группы по LANES блоков, возвращает число обработанных блоков
+    static int encryptBlocks(int[] s, int amountRounds, byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        int groups = amountBlocks / LANES;
+        int[] words = new int[4 * LANES];
+        for (int g = 0; g < groups; g++, inOff += LANES * BLOCK_SIZE, outOff += LANES * BLOCK_SIZE) {
+            load(in, inOff, words);
+            IntVector a = IntVector.fromArray(SPECIES, words, 0);
+            IntVector b = IntVector.fromArray(SPECIES, words, LANES);
+            IntVector c = IntVector.fromArray(SPECIES, words, 2 * LANES);
+            IntVector d = IntVector.fromArray(SPECIES, words, 3 * LANES);
+
+            //pre-whitening
+            b = b.add(s[0]);
+            d = d.add(s[1]);
+
+            for (int i = 1; i <= amountRounds; i++) {
+                IntVector t = b.mul(b.add(b).add(1)).lanewise(VectorOperators.ROL, 5);
+                IntVector u = d.mul(d.add(d).add(1)).lanewise(VectorOperators.ROL, 5);
+                IntVector newA = a.lanewise(VectorOperators.XOR, t).lanewise(VectorOperators.ROL, u).add(s[2 * i]);
+                IntVector newC = c.lanewise(VectorOperators.XOR, u).lanewise(VectorOperators.ROL, t).add(s[2 * i + 1]);
+
+                a = b;
+                b = newC;
+                c = d;
+                d = newA;
+            }
+
+            //post-whitening
+            a = a.add(s[2 * amountRounds + 2]);
+            c = c.add(s[2 * amountRounds + 3]);
+
+            a.intoArray(words, 0);
+            b.intoArray(words, LANES);
+            c.intoArray(words, 2 * LANES);
+            d.intoArray(words, 3 * LANES);
+            store(words, out, outOff);
+        }
+        return groups * LANES;
+    }
+
+    static int decryptBlocks(int[] s, int amountRounds, byte[] in, int inOff, byte[] out, int outOff, int amountBlocks) {
+        int groups = amountBlocks / LANES;
+        int[] words = new int[4 * LANES];
+        for (int g = 0; g < groups; g++, inOff += LANES * BLOCK_SIZE, outOff += LANES * BLOCK_SIZE) {
+            load(in, inOff, words);
+            IntVector a = IntVector.fromArray(SPECIES, words, 0);
+            IntVector b = IntVector.fromArray(SPECIES, words, LANES);
+            IntVector c = IntVector.fromArray(SPECIES, words, 2 * LANES);
+            IntVector d = IntVector.fromArray(SPECIES, words, 3 * LANES);
+
+            //pre-whitening reverse
+            c = c.sub(s[2 * amountRounds + 3]);
+            a = a.sub(s[2 * amountRounds + 2]);
+
+            for (int i = amountRounds; i >= 1; i--) {
+                IntVector tmp = d;
+                d = c;
+                c = b;
+                b = a;
+                a = tmp;
+
+                IntVector t = b.mul(b.add(b).add(1)).lanewise(VectorOperators.ROL, 5);
+                IntVector u = d.mul(d.add(d).add(1)).lanewise(VectorOperators.ROL, 5);
+                c = c.sub(s[2 * i + 1]).lanewise(VectorOperators.ROR, t).lanewise(VectorOperators.XOR, u);
+                a = a.sub(s[2 * i]).lanewise(VectorOperators.ROR, u).lanewise(VectorOperators.XOR, t);
+            }
+
+            //post-whitening
+            d = d.sub(s[1]);
+            b = b.sub(s[0]);
+
+            a.intoArray(words, 0);
+            b.intoArray(words, LANES);
+            c.intoArray(words, 2 * LANES);
+            d.intoArray(words, 3 * LANES);
+            store(words, out, outOff);
+        }
+        return groups * LANES;
+    }
+
+    // блоки -> words[слово * LANES + полоса]
+    private static void load(byte[] in, int inOff, int[] words) {
+        for (int lane = 0; lane < LANES; lane++) {
+            int blockOff = inOff + lane * BLOCK_SIZE;
+            words[lane] = (int) WORD.get(in, blockOff);
+            words[LANES + lane] = (int) WORD.get(in, blockOff + 4);
+            words[2 * LANES + lane] = (int) WORD.get(in, blockOff + 8);
+            words[3 * LANES + lane] = (int) WORD.get(in, blockOff + 12);
+        }
+    }
+
+    private static void store(int[] words, byte[] out, int outOff) {
+        for (int lane = 0; lane < LANES; lane++) {
+            int blockOff = outOff + lane * BLOCK_SIZE;
+            WORD.set(out, blockOff, words[lane]);
+            WORD.set(out, blockOff + 4, words[LANES + lane]);
+            WORD.set(out, blockOff + 8, words[2 * LANES + lane]);
+            WORD.set(out, blockOff + 12, words[3 * LANES + lane]);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.frontend.cipher.registry;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.example.frontend.cipher.interfaces.CipherProvider;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+// Шифры, доступные для комнат: провайдеры перечислены в META-INF/services/org.example.frontend.cipher.interfaces.CipherProvider
+@Slf4j
+@UtilityClass
+public class CipherRegistry {
+
+    private static final Map<String, CipherProvider> providers = load();
+
+    private static Map<String, CipherProvider> load() {
+        Map<String, CipherProvider> loaded = new LinkedHashMap<>();
+        for (CipherProvider provider : ServiceLoader.load(CipherProvider.class)) {
+            if (loaded.putIfAbsent(provider.getName(), provider) != null) {
+                log.warn("Duplicate cipher provider {} ignored", provider.getName());
+            }
+        }
+        log.info("Cipher providers: {}", loaded.keySet());
+        return Collections.unmodifiableMap(loaded);
+    }
+
+    public static List<String> getNames() {
+        return List.copyOf(providers.keySet());
+    }
+
+    public static boolean contains(String name) {
+        return providers.containsKey(name);
+    }
+
+    public static CipherProvider get(String name) {
+        CipherProvider provider = providers.get(name);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unexpected value: " + name);
+        }
+        return provider;
+    }
+}
@@ -0,0 +1,330 @@
+package org.example.frontend.cipher.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Многочлены над GF(2) степени <= 63 в long: бит i - коэффициент при x^i.
+// Умножение без переносов, приведение по модулю, тест неприводимости Рабина,
+// разложение Кантора-Цассенхауса и параллельный перебор неприводимых
+@UtilityClass
+public class BinaryPolynomials {
+
+    private static final long X = 0b10;
+    private static final long EVEN_BITS = 0x5555555555555555L;
+    private static final int ENUMERATION_LEAF = 1 << 12;
+
+    public static int degree(long poly) {
+        return 63 - Long.numberOfLeadingZeros(poly);
+    }
+
+    // произведение степени до 126: {младшие 64 бита, старшие}
+    public static long[] multiply(long a, long b) {
+        long low = 0;
+        long high = 0;
+        while (b != 0) {
+            int i = Long.numberOfTrailingZeros(b);
+            low ^= a << i;
+            if (i != 0) {
+                high ^= a >>> (64 - i);
+            }
+            b &= b - 1;
+        }
+        return new long[]{low, high};
+    }
+
+    // (high:low) mod m, m != 0
+    public static long reduce(long high, long low, long m) {
+        if (m == 0) throw new ArithmeticException("Division by zero");
+        int degreeM = degree(m);
+        while (high != 0) {
+            int shift = 127 - Long.numberOfLeadingZeros(high) - degreeM;
+            if (shift >= 64) {
+                high ^= m << (shift - 64);
+            } else {
+                high ^= shift == 0 ? 0 : m >>> (64 - shift);
+                low ^= m << shift;
+            }
+        }
+        while (degree(low) >= degreeM) {
+            low ^= m << (degree(low) - degreeM);
+        }
+        return low;
+    }
+
+    public static long mod(long a, long m) {
+        return reduce(0, a, m);
+    }
+
+    // {частное, остаток}
+    public static long[] divideAndMod(long a, long b) {
+        if (b == 0) throw new ArithmeticException("Division by zero");
+        int degreeB = degree(b);
+        long quotient = 0;
+        while (degree(a) >= degreeB) {
+            int shift = degree(a) - degreeB;
+            quotient |= 1L << shift;
+            a ^= b << shift;
+        }
+        return new long[]{quotient, a};
+    }
+
+    public static long divide(long a, long b) {
+        return divideAndMod(a, b)[0];
+    }
+
+    public static long multiplyMod(long a, long b, long m) {
+        long[] product = multiply(a, b);
+        return reduce(product[1], product[0], m);
+    }
+
+    public static long squareMod(long a, long m) {
+        // квадрат в характеристике 2 - раздвижка бит
+        long low = spread((int) a);
+        long high = spread((int) (a >>> 32));
+        return reduce(high, low, m);
+    }
+
+    public static long powMod(long base, long degree, long m) {
+        if (degree < 0) throw new IllegalArgumentException("degree must be >= 0");
+        long result = mod(1, m);
+        base = mod(base, m);
+        while (degree != 0) {
+            if ((degree & 1) == 1) {
+                result = multiplyMod(result, base, m);
+            }
+            base = squareMod(base, m);
+            degree >>>= 1;
+        }
+        return result;
+    }
+
+    public static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = mod(a, b);
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    // формальная производная: в характеристике 2 остаются только нечетные степени
+    public static long derivative(long poly) {
+        return (poly >>> 1) & EVEN_BITS;
+    }
+
+    // x^(2^k) mod m
+    public static long xPowerOfTwoMod(int k, long m) {
+        long result = mod(X, m);
+        for (int i = 0; i < k; i++) {
+            result = squareMod(result, m);
+        }
+        return result;
+    }
+
+    // Рабин: f степени n неприводим <=> x^(2^n) = x (mod f) и gcd(x^(2^(n/q)) - x, f) = 1 для всех простых q | n
+    public static boolean isIrreducible(long f) {
+        int n = degree(f);
+        if (n < 1) {
+            return false;
+        }
+        if (n == 1) {
+            return true;
+        }
+        if ((f & 1) == 0) {
+            return false;
+        }
+        if (xPowerOfTwoMod(n, f) != mod(X, f)) {
+            return false;
+        }
+        for (int q : primeDivisors(n)) {
+            if (gcd(f, xPowerOfTwoMod(n / q, f) ^ X) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // неприводимые множители с кратностью по возрастанию; для 0 - пустой список, для 1 - {1}
+    public static List<Long> factorize(long f) {
+        List<Long> factors = new ArrayList<>();
+        if (f == 0) {
+            return factors;
+        }
+        if (f == 1) {
+            factors.add(1L);
+            return factors;
+        }
+        for (long[] squareFree : squareFreeFactorization(f)) {
+            for (long[] distinct : distinctDegreeFactorization(squareFree[0])) {
+                List<Long> irreducible = new ArrayList<>();
+                equalDegreeFactorization(distinct[0], (int) distinct[1], irreducible);
+                for (long factor : irreducible) {
+                    for (int k = 0; k < squareFree[1]; k++) {
+                        factors.add(factor);
+                    }
+                }
+            }
+        }
+        factors.sort(Long::compareUnsigned);
+        return factors;
+    }
+
+    // все неприводимые многочлены степени degree (1..31), перебор делится между ядрами fork/join
+    public static long[] enumerateIrreducible(int degree) {
+        if (degree < 1 || degree > 31) throw new IllegalArgumentException("degree must be in [1, 31]");
+        long from = 1L << degree;
+        return ForkJoinPool.commonPool().invoke(new EnumerationTask(from, from << 1));
+    }
+
+    // Юн для характеристики 2: {множитель без квадратов, кратность}
+    private static List<long[]> squareFreeFactorization(long f) {
+        List<long[]> result = new ArrayList<>();
+        long c = gcd(f, derivative(f));
+        long w = divide(f, c);
+        int multiplicity = 1;
+        while (w != 1) {
+            long y = gcd(w, c);
+            long factor = divide(w, y);
+            if (factor != 1) {
+                result.add(new long[]{factor, multiplicity});
+            }
+            w = y;
+            c = divide(c, y);
+            multiplicity++;
+        }
+        if (c != 1) {
+            // остался полный квадрат
+            for (long[] inner : squareFreeFactorization(squareRoot(c))) {
+                result.add(new long[]{inner[0], inner[1] * 2});
+            }
+        }
+        return result;
+    }
+
+    // {произведение всех неприводимых множителей степени d, d}
+    private static List<long[]> distinctDegreeFactorization(long f) {
+        List<long[]> result = new ArrayList<>();
+        long h = mod(X, f);
+        int d = 1;
+        while (degree(f) >= 2 * d) {
+            h = squareMod(h, f);
+            long g = gcd(f, h ^ X);
+            if (g != 1) {
+                result.add(new long[]{g, d});
+                f = divide(f, g);
+                h = mod(h, f);
+            }
+            d++;
+        }
+        if (f != 1) {
+            result.add(new long[]{f, degree(f)});
+        }
+        return result;
+    }
+
+    // расщепление через след: gcd(g, a + a^2 + ... + a^(2^(d-1))) нетривиален с вероятностью не меньше 1/2
+    private static void equalDegreeFactorization(long g, int d, List<Long> out) {
+        int n = degree(g);
+        if (n == d) {
+            out.add(g);
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mask = n == 63 ? -1L : (1L << n) - 1;
+        while (true) {
+            long a = random.nextLong() & mask;
+            if (degree(a) < 1) {
+                continue;
+            }
+            long trace = a;
+            long power = a;
+            for (int j = 1; j < d; j++) {
+                power = squareMod(power, g);
+                trace ^= power;
+            }
+            long h = gcd(g, trace);
+            if (h != 1 && degree(h) < n) {
+                equalDegreeFactorization(h, d, out);
+                equalDegreeFactorization(divide(g, h), d, out);
+                return;
+            }
+        }
+    }
+
+    // корень из многочлена с одними четными степенями
+    private static long squareRoot(long square) {
+        long root = 0;
+        for (int i = 0; i < 32; i++) {
+            root |= ((square >>> (2 * i)) & 1) << i;
+        }
+        return root;
+    }
+
+    // биты x -> четные позиции
+    private static long spread(int x) {
+        long v = x & 0xFFFFFFFFL;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & EVEN_BITS;
+        return v;
+    }
+
+    private static int[] primeDivisors(int n) {
+        int[] result = new int[6];
+        int count = 0;
+        for (int p = 2; p * p <= n; p++) {
+            if (n % p == 0) {
+                result[count++] = p;
+                while (n % p == 0) {
+                    n /= p;
+                }
+            }
+        }
+        if (n > 1) {
+            result[count++] = n;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static final class EnumerationTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        EnumerationTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= ENUMERATION_LEAF) {
+                long[] found = new long[(int) (to - from)];
+                int count = 0;
+                for (long candidate = from; candidate < to; candidate++) {
+                    if (isIrreducible(candidate)) {
+                        found[count++] = candidate;
+                    }
+                }
+                return Arrays.copyOf(found, count);
+            }
+            long middle = (from + to) >>> 1;
+            EnumerationTask left = new EnumerationTask(from, middle);
+            left.fork();
+            long[] right = new EnumerationTask(middle, to).compute();
+            long[] leftResult = left.join();
+            long[] result = Arrays.copyOf(leftResult, leftResult.length + right.length);
+            System.arraycopy(right, 0, result, leftResult.length, right.length);
+            return result;
+        }
+    }
+}
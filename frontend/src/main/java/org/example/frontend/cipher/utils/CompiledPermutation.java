@@ -0,0 +1,88 @@
+package org.example.frontend.cipher.utils;
+
+// Перестановка бит, заранее разложенная в таблицы по входным байтам (как в DES): для каждого байта входа
+// и каждого его значения хранится уже переставленный вклад в выход, поэтому перестановка - это inputLength поисков и OR.
+// Результат совпадает с PermutationBits.permute для тех же pBlock, isLeftToRight, startsByOne и длины входа
+public final class CompiledPermutation {
+
+    private final int inputLength;
+    private final int outputBits;
+    private final int outputBytes;
+    private final int words;
+    // table[((номер байта << 8) | значение) * words + слово]
+    private final long[] table;
+
+    public CompiledPermutation(int[] pBlock, boolean isLeftToRight, boolean startsByOne, int inputLength) {
+        if (inputLength <= 0) {
+            throw new IllegalArgumentException("Input length must be positive");
+        }
+        this.inputLength = inputLength;
+        this.outputBits = pBlock.length;
+        this.outputBytes = (outputBits + 7) / 8;
+        this.words = Math.max(1, (outputBytes + 7) / 8);
+        this.table = new long[inputLength * 256 * words];
+
+        for (int i = 0; i < outputBits; ++i) {
+            int position = pBlock[i] + (startsByOne ? -1 : 0);
+            if (position < 0 || position >= inputLength * 8) {
+                throw new IllegalArgumentException("Bit " + pBlock[i] + " is out of the input block");
+            }
+            int numberOfByte = isLeftToRight ? position / 8 : inputLength - 1 - position / 8;
+            int positionOfBitInByte = isLeftToRight ? 7 - position % 8 : position % 8;
+
+            // выходной бит i - старший бит первого байта результата и далее; байты результата big-endian по словам
+            int word = i / 64;
+            long outputBit = 1L << (63 - i % 64);
+            for (int value = 0; value < 256; value++) {
+                if ((value >> positionOfBitInByte & 1) == 1) {
+                    table[((numberOfByte << 8) | value) * words + word] |= outputBit;
+                }
+            }
+        }
+    }
+
+    public int getInputLength() {
+        return inputLength;
+    }
+
+    public int getOutputLength() {
+        return outputBytes;
+    }
+
+    public byte[] permute(byte[] bytes) {
+        if (bytes.length != inputLength) {
+            throw new IllegalArgumentException("Input length does not match permutation input length");
+        }
+        byte[] result = new byte[outputBytes];
+        permute(bytes, 0, result, 0);
+        return result;
+    }
+
+    // без выделения памяти: inputLength байт из in[inOff..], getOutputLength() байт в out[outOff..]
+    public void permute(byte[] in, int inOff, byte[] out, int outOff) {
+        for (int w = 0; w < words; w++) {
+            long accumulator = 0;
+            for (int j = 0; j < inputLength; j++) {
+                accumulator |= table[((j << 8) | (in[inOff + j] & 0xFF)) * words + w];
+            }
+            int from = w * 8;
+            int to = Math.min(outputBytes, from + 8);
+            for (int b = from; b < to; b++) {
+                out[outOff + b] = (byte) (accumulator >>> (56 - 8 * (b - from)));
+            }
+        }
+    }
+
+    // вход и выход до 64 бит как big-endian числа (байт 0 - старший), как при упаковке блока в long
+    public long permute(long block) {
+        if (inputLength > 8 || words > 1) {
+            throw new IllegalStateException("Permutation does not fit into 64 bits");
+        }
+        long accumulator = 0;
+        for (int j = 0; j < inputLength; j++) {
+            int value = (int) (block >>> (8 * (inputLength - 1 - j))) & 0xFF;
+            accumulator |= table[(j << 8) | value];
+        }
+        return outputBytes == 0 ? 0 : accumulator >>> (64 - 8 * outputBytes);
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.frontend.cipher.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// GF(2^8) по модулю x^8 + mod (mod - младшие 8 бит, как в GaloisOperations) на таблицах:
+// полная таблица умножения 256x256 (без ветвлений), логарифмы/степени по примитивному элементу и обратные.
+// Поле для каждого модуля строится один раз и кэшируется
+public final class GaloisField {
+
+    private static final int ORDER = 255;
+
+    // 256-битная маска неприводимых модулей степени 8
+    private static final long[] IRREDUCIBLE = irreducibleBitmap();
+
+    private static final AtomicReferenceArray<GaloisField> FIELDS = new AtomicReferenceArray<>(256);
+
+    private final byte mod;
+    private final byte generator;
+    private final byte[] multiplication = new byte[256 * 256];
+    private final int[] log = new int[256];
+    // exp[i] = generator^i, длина 2 * ORDER, чтобы log a + log b не брать по модулю
+    private final byte[] exp = new byte[2 * ORDER];
+    private final byte[] inverse = new byte[256];
+
+    public static boolean isIrreducible(byte mod) {
+        int index = mod & 0xFF;
+        return (IRREDUCIBLE[index >>> 6] >>> (index & 63) & 1) == 1;
+    }
+
+    public static GaloisField of(byte mod) {
+        if (!isIrreducible(mod)) throw new IllegalArgumentException("mod must be irredicible");
+        int index = mod & 0xFF;
+        GaloisField field = FIELDS.get(index);
+        if (field == null) {
+            FIELDS.compareAndSet(index, null, new GaloisField(mod));
+            field = FIELDS.get(index);
+        }
+        return field;
+    }
+
+    private GaloisField(byte mod) {
+        this.mod = mod;
+
+        for (int a = 0; a < 256; a++) {
+            for (int b = a; b < 256; b++) {
+                byte product = multiplySlow((byte) a, (byte) b, mod);
+                multiplication[(a << 8) | b] = product;
+                multiplication[(b << 8) | a] = product;
+            }
+        }
+
+        this.generator = findGenerator();
+        int element = 1;
+        for (int i = 0; i < ORDER; i++) {
+            exp[i] = (byte) element;
+            exp[i + ORDER] = (byte) element;
+            log[element] = i;
+            element = multiplication[(element << 8) | (generator & 0xFF)] & 0xFF;
+        }
+
+        for (int a = 1; a < 256; a++) {
+            inverse[a] = exp[(ORDER - log[a]) % ORDER];
+        }
+    }
+
+    public byte getModulus() {
+        return mod;
+    }
+
+    public byte getGenerator() {
+        return generator;
+    }
+
+    public byte multiply(byte a, byte b) {
+        return multiplication[((a & 0xFF) << 8) | (b & 0xFF)];
+    }
+
+    // обратный к 0 - 0, как GaloisOperations.getInversePolynom
+    public byte inverse(byte a) {
+        return inverse[a & 0xFF];
+    }
+
+    public byte pow(byte a, int degree) {
+        if (degree < 0) throw new IllegalArgumentException("degree must be >= 0");
+        if (degree == 0) {
+            return 1;
+        }
+        if (a == 0) {
+            return 0;
+        }
+        return exp[(int) ((long) log[a & 0xFF] * degree % ORDER)];
+    }
+
+    // out[outOff + i] = vector[off + i] * scalar
+    public void multiply(byte[] vector, int off, int length, byte scalar, byte[] out, int outOff) {
+        int row = (scalar & 0xFF) << 8;
+        for (int i = 0; i < length; i++) {
+            out[outOff + i] = multiplication[row | (vector[off + i] & 0xFF)];
+        }
+    }
+
+    // acc[accOff + i] ^= vector[off + i] * scalar (строка матрицы в слоях перемешивания)
+    public void multiplyAdd(byte[] vector, int off, int length, byte scalar, byte[] acc, int accOff) {
+        int row = (scalar & 0xFF) << 8;
+        for (int i = 0; i < length; i++) {
+            acc[accOff + i] ^= multiplication[row | (vector[off + i] & 0xFF)];
+        }
+    }
+
+    public byte dot(byte[] a, int aOff, byte[] b, int bOff, int length) {
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            result ^= multiplication[((a[aOff + i] & 0xFF) << 8) | (b[bOff + i] & 0xFF)];
+        }
+        return (byte) result;
+    }
+
+    private byte findGenerator() {
+        for (int candidate = 2; candidate < 256; candidate++) {
+            int element = candidate;
+            int order = 1;
+            while (element != 1) {
+                element = multiplication[(element << 8) | candidate] & 0xFF;
+                order++;
+            }
+            if (order == ORDER) {
+                return (byte) candidate;
+            }
+        }
+        throw new IllegalStateException("No primitive element for mod " + (mod & 0xFF));
+    }
+
+    private static byte multiplySlow(byte a, byte b, byte mod) {
+        int result = 0;
+        int pol = a & 0xFF;
+        for (int i = 0; i < 8; i++) {
+            if ((b >> i & 1) == 1) {
+                result ^= pol;
+            }
+            pol = (pol & 0x80) != 0 ? ((pol << 1) ^ (mod & 0xFF)) & 0xFF : pol << 1;
+        }
+        return (byte) result;
+    }
+
+    private static long[] irreducibleBitmap() {
+        long[] bitmap = new long[4];
+        for (int index = 0; index < 256; index++) {
+            if (BinaryPolynomials.isIrreducible(0x100 | index)) {
+                bitmap[index >>> 6] |= 1L << (index & 63);
+            }
+        }
+        return bitmap;
+    }
+}
@@ -115,7 +115,7 @@ public interface GaloisOperations {
     }
 
     static boolean isByteIrredicible(byte poly) {
-        return irrediciblePoly8Degree.contains(poly);
+        return GaloisField.isIrreducible(poly);
     }
 
     static List<Short> factorizePolynomial(short polynomial) {
@@ -37,5 +37,10 @@ public class PermutationBits {
         return result;
     }
 
+    // табличный вариант для многократного применения одной перестановки к блокам длины inputLength
+    public static CompiledPermutation compile(int[] pBlock, boolean isLeftToRight, boolean startsByOne, int inputLength) {
+        return new CompiledPermutation(pBlock, isLeftToRight, startsByOne, inputLength);
+    }
+
 
 }
@@ -25,9 +25,10 @@ import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.stage.Window;
 import javafx.util.Duration;
-import javafx.util.Pair;
 import lombok.extern.slf4j.Slf4j;
+import org.example.frontend.cipher.context.CipherSession;
 import org.example.frontend.cipher.context.Context;
+import org.example.frontend.cipher.context.CryptoPool;
 import org.example.frontend.dialog.ChatSettingsDialog;
 import org.example.frontend.factory.ContextFactory;
 import org.example.frontend.httpToSpring.ChatApiClient;
@@ -120,11 +121,11 @@ public class MainChatController {
 
   private static class FileTransferState {
     OutputStream outputStream;
-    byte[] previous;
+    CipherSession session;
 
-    FileTransferState(OutputStream os) {
+    FileTransferState(OutputStream os, CipherSession session) {
       this.outputStream = os;
-      this.previous = null;
+      this.session = session;
     }
   }
 
@@ -343,25 +344,23 @@ public class MainChatController {
           OutputStream os = Files.newOutputStream(out,
                   StandardOpenOption.CREATE,
                   StandardOpenOption.APPEND);
-          return new FileTransferState(os);
+          return new FileTransferState(os, context.newSession(false));
         } catch (IOException e) {
           throw new RuntimeException(e);
         }
       });
 
       byte[] encryptedChunk = msg.getChunk().toByteArray();
-      Pair<byte[], byte[]> decrypted = context.encryptDecryptInner(
-              encryptedChunk,
-              state.previous,
-              false
-      );
+      byte[] decrypted = new byte[state.session.getOutputSize(encryptedChunk.length)];
+      int length = state.session.update(encryptedChunk, 0, encryptedChunk.length, decrypted, 0);
 
       if (msg.getIsLast()) {
-        byte[] unpadded = context.removePadding(decrypted.getKey());
-        state.outputStream.write(unpadded);
+        length += state.session.doFinal(decrypted, length);
+        state.outputStream.write(decrypted, 0, length);
         state.outputStream.close();
         fileTransfers.remove(fileName);
         log.info("[The file is ready] {}", fileName);
+        log.info("crypto pool: {}", CryptoPool.metrics());
 
         Message message = Message.builder()
                 .roomId(room.getRoomId())
@@ -380,8 +379,7 @@ public class MainChatController {
         }
 
       } else {
-        state.outputStream.write(decrypted.getKey());
-        state.previous = decrypted.getValue();
+        state.outputStream.write(decrypted, 0, length);
       }
     } catch (Exception e) {
       log.error("File processing error {}", msg.getFileName(), e);
@@ -409,13 +407,13 @@ public class MainChatController {
     }
 
     byte[] encodedData = Base64.getDecoder().decode(msg.getText());
-    Pair<byte[], byte[]> decrypted = contextTextMessage.encryptDecryptInner(encodedData, null, false);
+    byte[] decrypted = contextTextMessage.newSession(false).doFinal(encodedData);
 
     Message message = Message.builder()
             .roomId(room.getRoomId())
             .sender(msg.getFromUserName())
             .timestamp(msg.getDateTime())
-            .content(new String(contextTextMessage.removePadding(decrypted.getKey())))
+            .content(new String(decrypted))
             .build();
 
     DaoManager.getMessageDao().insert(message);
@@ -461,6 +459,7 @@ public class MainChatController {
       room.setKeyBitLength(decodedToken.keyBitLength());
 
       DaoManager.getChatRoomDao().update(room);
+      ContextFactory.invalidate(roomId);
 
       for (int i = 0; i < chatRooms.size(); i++) {
         if (chatRooms.get(i).getRoomId().equals(roomId)) {
@@ -1126,11 +1125,9 @@ public class MainChatController {
       return;
     }
 
-    byte[] afterPadding = context.addPadding(text.getBytes());
-
-    Pair<byte[], byte[]> encrypted = context.encryptDecryptInner(afterPadding, null, true);
+    byte[] encrypted = context.newSession(true).doFinal(text.getBytes());
 
-    String cipherText = Base64.getEncoder().encodeToString(encrypted.getKey());
+    String cipherText = Base64.getEncoder().encodeToString(encrypted);
 
     String token = RoomTokenEncoder.encode(
             room.getRoomId(),
@@ -25,44 +25,26 @@ public class KeyGenForDh {
     }
 
 
+    // безопасное простое p = 2q + 1, q - простое длины bitLength; тест получают только кандидаты,
+    // пережившие решето SafePrimeSieve
     public BigInteger generatePrimaryNumberDh() {
-        BigInteger candidate;
-        boolean probablyPrime;
-
-        int remBits = bitLength & 7;
-        int size = (bitLength + 7) >> 3;
-
-        byte[] buffer = new byte[size];
         while (true) {
+            SafePrimeSieve sieve = new SafePrimeSieve(bitLength, generateCandidate());
 
-            rng.nextBytes(buffer);
-
-
-            if (remBits == 0) {
-                remBits = 8;
-            }
-
-            buffer[size - 1] |= (byte) (1 << (remBits - 1));
+            BigInteger candidate;
+            while ((candidate = sieve.nextCandidate()) != null) {
 
-            buffer[0] |= (byte) 0x01;
+                if (primaryTest.isSimple(candidate, probability)) {
 
+                    BigInteger pCandidate = candidate.shiftLeft(1).add(BigInteger.ONE);
 
-            candidate = new BigInteger(1, buffer);
 
+                    if (primaryTest.isSimple(pCandidate, probability)) {
+                        return pCandidate;
+                    }
 
-            probablyPrime = primaryTest.isSimple(candidate, probability);
-
-            if (probablyPrime) {
-
-                BigInteger pCandidate = candidate.shiftLeft(1).add(BigInteger.ONE);
-
-
-                if (primaryTest.isSimple(pCandidate, probability)) {
-                    return pCandidate;
                 }
-
             }
-
         }
     }
 
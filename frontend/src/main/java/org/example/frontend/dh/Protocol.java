@@ -1,12 +1,11 @@
 package org.example.frontend.dh;
 
 import org.example.frontend.simplyfility.SimplifilityInterface;
-import org.example.frontend.simplyfility.tests.MillerRabinTest;
+import org.example.frontend.simplyfility.tests.BailliePSWTest;
 
 import java.math.BigInteger;
 
-import java.util.List;
-import java.util.concurrent.*;
+import java.util.concurrent.ExecutionException;
 
 public class Protocol {
 
@@ -17,42 +16,7 @@ public class Protocol {
 
     public static Pair<BigInteger, BigInteger> generatePairParallel(int bitlen)
             throws InterruptedException, ExecutionException {
-
-
-        ExecutorService executor = Executors.newFixedThreadPool(2);
-
-        SimplifilityInterface primeTest = new MillerRabinTest();
-
-
-        Callable<Pair<BigInteger, BigInteger>> task = () -> {
-            KeyGenForDh gen = new KeyGenForDh(primeTest, PROBABILITY, bitlen);
-            while (true) {
-
-                BigInteger pCandidate = gen.generatePrimaryNumberDh();
-                BigInteger phi = pCandidate.subtract(BigInteger.ONE);
-                BigInteger q = phi.shiftRight(1);
-
-
-                BigInteger gCandidate = BigInteger.valueOf(2);
-
-                    if (!gCandidate.modPow(phi.divide(q), pCandidate).equals(BigInteger.ONE)
-                            && !gCandidate.modPow(phi.shiftRight(1), pCandidate).equals(BigInteger.ONE)) {
-
-                        return new Pair<>(pCandidate, gCandidate);
-                    }
-
-
-            }
-        };
-
-        List<Callable<Pair<BigInteger, BigInteger>>> tasks = List.of(task, task);
-
-        Pair<BigInteger, BigInteger> result = executor.invokeAny(tasks);
-
-
-        executor.shutdownNow();
-
-        return result;
+        return new SafePrimeSearch(new BailliePSWTest(), PROBABILITY, bitlen).search();
     }
 
 
@@ -62,7 +26,7 @@ public class Protocol {
 
 
     public static Pair<BigInteger, BigInteger> generatePair(int bitlen) {
-        SimplifilityInterface primeTest = new MillerRabinTest();
+        SimplifilityInterface primeTest = new BailliePSWTest();
         KeyGenForDh gen = new KeyGenForDh(primeTest, PROBABILITY, bitlen);
 
         BigInteger pCandidate;
@@ -109,7 +73,7 @@ public class Protocol {
 
 
     public static BigInteger generateSecret(int bitlen) {
-        KeyGenForDh gen = new KeyGenForDh(new MillerRabinTest(), PROBABILITY, bitlen);
+        KeyGenForDh gen = new KeyGenForDh(new BailliePSWTest(), PROBABILITY, bitlen);
         return gen.generateCandidate();
     }
 
@@ -0,0 +1,178 @@
+package org.example.frontend.dh;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.frontend.simplyfility.SimplifilityInterface;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Поиск параметров DH (безопасное простое p = 2q + 1 и образующая g) на всех ядрах.
+// Потоки делят все q длины bitLength на непересекающиеся окна решета, обход начинается со случайного окна;
+// первый найденный результат отменяет остальных. Потоков не больше, чем окон (при малых bitLength - один).
+// Пул живет только внутри search, поэтому после возврата рабочих потоков не остается.
+@Slf4j
+public class SafePrimeSearch {
+
+    public interface Progress {
+        // вызывается из рабочих потоков не чаще PROGRESS_INTERVAL_MS
+        void onProgress(long testedCandidates, long elapsedMillis);
+    }
+
+    private static final long PROGRESS_INTERVAL_MS = 250;
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final SecureRandom rng = new SecureRandom();
+    private final SimplifilityInterface primaryTest;
+    private final double probability;
+    private final int bitLength;
+    private final int parallelism;
+
+    private volatile ExecutorService running = null;
+    private volatile boolean cancelled = false;
+
+    public SafePrimeSearch(SimplifilityInterface primaryTest, double probability, int bitLength) {
+        this(primaryTest, probability, bitLength, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SafePrimeSearch(SimplifilityInterface primaryTest, double probability, int bitLength, int parallelism) {
+        if (probability < 0.5 || probability >= 1.0) {
+            throw new IllegalArgumentException("Probability must be in [0.5, 1)");
+        }
+        if (bitLength < 3) {
+            throw new IllegalArgumentException("Bit length is too small");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.primaryTest = primaryTest;
+        this.probability = probability;
+        this.bitLength = bitLength;
+        this.parallelism = parallelism;
+    }
+
+    public Pair<BigInteger, BigInteger> search() throws InterruptedException, ExecutionException {
+        try {
+            return search(null, null);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Search without timeout timed out", e);
+        }
+    }
+
+    // timeout = null - без ограничения, progress = null - без отчетов
+    public Pair<BigInteger, BigInteger> search(Duration timeout, Progress progress)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        cancelled = false;
+        long startedAt = System.nanoTime();
+        LongAdder tested = new LongAdder();
+        AtomicLong lastReport = new AtomicLong(startedAt);
+        BigInteger start = randomStart();
+        int threads = SafePrimeSieve.windowCount(bitLength).min(BigInteger.valueOf(parallelism)).intValue();
+
+        List<Callable<Pair<BigInteger, BigInteger>>> workers = new ArrayList<>(threads);
+        for (int k = 0; k < threads; k++) {
+            int offset = k;
+            workers.add(() -> work(start, offset, threads, tested, progress, startedAt, lastReport));
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads, this::newThread)) {
+            running = executor;
+            if (cancelled) {
+                throw new CancellationException("Safe prime search cancelled");
+            }
+            Pair<BigInteger, BigInteger> result = timeout == null
+                    ? executor.invokeAny(workers)
+                    : executor.invokeAny(workers, timeout.toNanos(), TimeUnit.NANOSECONDS);
+            log.info("Safe prime of {} bits found in {} ms, {} candidates tested on {} threads",
+                    bitLength + 1, (System.nanoTime() - startedAt) / 1_000_000, tested.sum(), threads);
+            return result;
+        } catch (ExecutionException | RejectedExecutionException e) {
+            if (cancelled) {
+                throw new CancellationException("Safe prime search cancelled");
+            }
+            throw e;
+        } finally {
+            running = null;
+        }
+    }
+
+    // можно вызывать из любого потока (например, из UI): текущий search завершится CancellationException
+    public void cancel() {
+        cancelled = true;
+        ExecutorService executor = running;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // наименьшее g >= 2, порождающее всю группу Z_p^*: для p = 2q + 1 достаточно g^2 != 1 и g^q != 1
+    public static BigInteger findGenerator(BigInteger p) {
+        BigInteger phi = p.subtract(BigInteger.ONE);
+        BigInteger q = phi.shiftRight(1);
+        for (BigInteger g = BigInteger.TWO; g.compareTo(phi) < 0; g = g.add(BigInteger.ONE)) {
+            if (!g.modPow(BigInteger.TWO, p).equals(BigInteger.ONE) && !g.modPow(q, p).equals(BigInteger.ONE)) {
+                return g;
+            }
+        }
+        throw new IllegalArgumentException("No generator found, p is not a safe prime");
+    }
+
+    // доля offset из stride; если в ней нет безопасного простого, поток завершается исключением,
+    // а invokeAny ждет остальных (вместе доли покрывают весь диапазон)
+    private Pair<BigInteger, BigInteger> work(BigInteger start, int offset, int stride, LongAdder tested,
+                                              Progress progress, long startedAt, AtomicLong lastReport) {
+        SafePrimeSieve sieve = new SafePrimeSieve(bitLength, start, offset, stride);
+        while (true) {
+            if (cancelled || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Safe prime search cancelled");
+            }
+            BigInteger candidate = sieve.nextCandidate();
+            if (candidate == null) {
+                throw new IllegalStateException("No safe prime of " + (bitLength + 1) + " bits in this part of the range");
+            }
+
+            tested.increment();
+            report(tested, progress, startedAt, lastReport);
+            if (primaryTest.isSimple(candidate, probability)) {
+                BigInteger pCandidate = candidate.shiftLeft(1).add(BigInteger.ONE);
+                if (primaryTest.isSimple(pCandidate, probability)) {
+                    return new Pair<>(pCandidate, findGenerator(pCandidate));
+                }
+            }
+        }
+    }
+
+    private static void report(LongAdder tested, Progress progress, long startedAt, AtomicLong lastReport) {
+        if (progress == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastReport.get();
+        if (now - last >= TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MS) && lastReport.compareAndSet(last, now)) {
+            progress.onProgress(tested.sum(), (now - startedAt) / 1_000_000);
+        }
+    }
+
+    private BigInteger randomStart() {
+        return new BigInteger(bitLength, rng).setBit(bitLength - 1).setBit(0);
+    }
+
+    private Thread newThread(Runnable task) {
+        Thread thread = new Thread(task, "dh-search-" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
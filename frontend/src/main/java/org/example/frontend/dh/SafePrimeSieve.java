@@ -0,0 +1,159 @@
+package org.example.frontend.dh;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// Решето для безопасных простых p = 2q + 1. Все нечетные q длины bitLength (q = low + 2j) разбиты на окна
+// по WINDOW штук, выровненные от low; в окне сразу вычеркиваются j, при которых q или 2q + 1 делится на малое простое.
+// Перебор начинается с окна, содержащего start, идет по кругу (после последнего окна - первое) и заканчивается,
+// когда пройден весь диапазон. При stride > 1 решето берет каждое stride-е окно начиная с offset: решета
+// с offset = 0..stride-1 делят диапазон на непересекающиеся части и вместе покрывают его целиком.
+final class SafePrimeSieve {
+
+    private static final int SMALL_PRIMES_LIMIT = 1 << 15;
+    private static final int WINDOW = 1 << 12;
+    private static final int[] SMALL_PRIMES = oddPrimesBelow(SMALL_PRIMES_LIMIT);
+
+    private final BigInteger low;
+    private final BigInteger windows;
+    private final int windowLength;
+    private final int stride;
+    private final int[] primes;
+    private final int[] residues;
+    private final boolean[] composite;
+
+    // номер текущего окна и сколько окон этого решета осталось после него
+    private BigInteger window;
+    private BigInteger base;
+    private BigInteger remaining;
+    private int position = 0;
+
+    // start - нечетное число длины bitLength, перебор начинается с его окна
+    SafePrimeSieve(int bitLength, BigInteger start) {
+        this(bitLength, start, 0, 1);
+    }
+
+    SafePrimeSieve(int bitLength, BigInteger start, int offset, int stride) {
+        if (bitLength < 2) {
+            throw new IllegalArgumentException("Bit length is too small");
+        }
+        if (!start.testBit(0) || start.bitLength() != bitLength) {
+            throw new IllegalArgumentException("Start must be odd and have exactly bitLength bits");
+        }
+        if (stride < 1 || offset < 0 || offset >= stride) {
+            throw new IllegalArgumentException("Offset must be in [0, stride)");
+        }
+        this.low = BigInteger.ONE.shiftLeft(bitLength - 1).add(BigInteger.ONE);
+        this.windows = windowCount(bitLength);
+        // нечетных q длины bitLength 2^(bitLength - 2): либо одно неполное окно, либо все окна полные
+        this.windowLength = BigInteger.ONE.shiftLeft(bitLength - 2).min(BigInteger.valueOf(WINDOW)).intValue();
+        this.composite = new boolean[windowLength];
+        this.stride = stride;
+
+        // просеиваем только простыми меньше любого кандидата, иначе решето вычеркнет само простое
+        int bound = bitLength > 16 ? SMALL_PRIMES_LIMIT : 1 << (bitLength - 1);
+        int amount = 0;
+        while (amount < SMALL_PRIMES.length && SMALL_PRIMES[amount] < bound) {
+            amount++;
+        }
+        this.primes = Arrays.copyOf(SMALL_PRIMES, amount);
+        this.residues = new int[amount];
+
+        BigInteger first = start.subtract(low).shiftRight(1).divide(BigInteger.valueOf(WINDOW));
+        BigInteger own = windows.subtract(BigInteger.valueOf(offset));
+        if (own.signum() <= 0) {
+            // окон меньше, чем решет: этому решету ничего не досталось
+            this.remaining = BigInteger.ZERO;
+            this.position = windowLength;
+            return;
+        }
+        // окна offset, offset + stride, ... меньше windows
+        this.remaining = own.subtract(BigInteger.ONE).divide(BigInteger.valueOf(stride));
+        moveTo(first.add(BigInteger.valueOf(offset)).mod(windows));
+    }
+
+    // число окон для q длины bitLength: больше решет запускать бессмысленно
+    static BigInteger windowCount(int bitLength) {
+        BigInteger amount = BigInteger.ONE.shiftLeft(bitLength - 2);
+        BigInteger window = BigInteger.valueOf(WINDOW);
+        return amount.compareTo(window) <= 0 ? BigInteger.ONE : amount.divide(window);
+    }
+
+    // следующий q, у которого ни q, ни 2q + 1 не делятся на малые простые; null, когда доля диапазона пройдена
+    BigInteger nextCandidate() {
+        while (true) {
+            while (position < windowLength) {
+                int i = position++;
+                if (!composite[i]) {
+                    return base.add(BigInteger.valueOf(2L * i));
+                }
+            }
+            if (remaining.signum() == 0) {
+                return null;
+            }
+            remaining = remaining.subtract(BigInteger.ONE);
+            advance();
+        }
+    }
+
+    private void advance() {
+        BigInteger next = window.add(BigInteger.valueOf(stride));
+        if (next.compareTo(windows) >= 0) {
+            // переход через конец диапазона к его началу
+            moveTo(next.subtract(windows));
+            return;
+        }
+        long shift = 2L * WINDOW * stride;
+        window = next;
+        base = base.add(BigInteger.valueOf(shift));
+        for (int k = 0; k < primes.length; k++) {
+            residues[k] = (int) ((residues[k] + shift) % primes[k]);
+        }
+        position = 0;
+        sieve();
+    }
+
+    private void moveTo(BigInteger index) {
+        window = index;
+        base = low.add(index.multiply(BigInteger.valueOf(2L * WINDOW)));
+        for (int k = 0; k < primes.length; k++) {
+            residues[k] = base.mod(BigInteger.valueOf(primes[k])).intValue();
+        }
+        position = 0;
+        sieve();
+    }
+
+    private void sieve() {
+        Arrays.fill(composite, false);
+        for (int k = 0; k < primes.length; k++) {
+            long p = primes[k];
+            long r = residues[k];
+            long halfInverse = (p + 1) / 2;
+            // q = r + 2i = 0 (mod p)
+            cross((int) ((p - r) * halfInverse % p), (int) p);
+            // 2q + 1 = 0 (mod p)  <=>  r + 2i = -1/2 (mod p)
+            cross((int) ((2 * p - halfInverse - r) % p * halfInverse % p), (int) p);
+        }
+    }
+
+    private void cross(int first, int step) {
+        for (int i = first; i < windowLength; i += step) {
+            composite[i] = true;
+        }
+    }
+
+    private static int[] oddPrimesBelow(int limit) {
+        boolean[] notPrime = new boolean[limit];
+        int[] result = new int[limit / 2];
+        int count = 0;
+        for (int i = 3; i < limit; i += 2) {
+            if (!notPrime[i]) {
+                result[count++] = i;
+                for (long j = (long) i * i; j < limit; j += 2L * i) {
+                    notPrime[(int) j] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
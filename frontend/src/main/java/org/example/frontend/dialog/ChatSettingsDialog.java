@@ -3,6 +3,7 @@ package org.example.frontend.dialog;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import org.example.frontend.cipher.registry.CipherRegistry;
 import org.example.frontend.manager.SceneManager;
 import org.example.frontend.model.main.ChatRoom;
 import org.example.frontend.model.main.ChatSetting;
@@ -26,16 +27,15 @@ public class ChatSettingsDialog extends Dialog<ChatSetting> {
     ButtonType createButtonType = new ButtonType("ok", ButtonBar.ButtonData.OK_DONE);
     getDialogPane().getButtonTypes().addAll(createButtonType, ButtonType.CANCEL);
 
+    keyBitLengthBox = new ComboBox<>();
+    keyBitLengthBox.getStyleClass().add("input-field");
+
     cipherBox = new ComboBox<>();
-    cipherBox.getItems().addAll("RC6", "MAGENTA");
+    cipherBox.getItems().addAll(CipherRegistry.getNames());
+    cipherBox.valueProperty().addListener((obs, oldCipher, newCipher) -> updateKeyBitLengths(newCipher));
     cipherBox.getSelectionModel().selectFirst();
     cipherBox.getStyleClass().add("input-field");
 
-    keyBitLengthBox = new ComboBox<>();
-    keyBitLengthBox.getItems().addAll("128", "192", "256");
-    keyBitLengthBox.getSelectionModel().selectFirst();
-    keyBitLengthBox.getStyleClass().add("input-field");
-
     cipherModeCombo = new ComboBox<>();
     cipherModeCombo.getItems().addAll("ECB", "CBC", "PCBC", "CFB", "OFB", "CTR", "RANDOM_DELTA");
     cipherModeCombo.getSelectionModel().selectFirst();
@@ -100,6 +100,23 @@ public class ChatSettingsDialog extends Dialog<ChatSetting> {
     generateIv();
   }
 
+  // длины ключа берутся из провайдера выбранного шифра, выбранная длина сохраняется, если она допустима
+  private void updateKeyBitLengths(String cipher) {
+    String selected = keyBitLengthBox.getValue();
+    keyBitLengthBox.getItems().clear();
+    if (cipher == null || !CipherRegistry.contains(cipher)) {
+      return;
+    }
+    for (int bits : CipherRegistry.get(cipher).getKeyBitLengths()) {
+      keyBitLengthBox.getItems().add(String.valueOf(bits));
+    }
+    if (selected != null && keyBitLengthBox.getItems().contains(selected)) {
+      keyBitLengthBox.setValue(selected);
+    } else {
+      keyBitLengthBox.getSelectionModel().selectFirst();
+    }
+  }
+
   private void generateIv() {
     ivField.setText(generateRandomIvBase64());
   }
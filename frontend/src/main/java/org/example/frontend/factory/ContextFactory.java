@@ -4,25 +4,58 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.frontend.cipher.constants.CipherMode;
 import org.example.frontend.cipher.constants.PaddingMode;
 import org.example.frontend.cipher.context.Context;
+import org.example.frontend.cipher.interfaces.CipherProvider;
 import org.example.frontend.cipher.interfaces.EncryptorDecryptorSymmetric;
-import org.example.frontend.cipher.magenta.Magenta;
-import org.example.frontend.cipher.magenta.enums.MagentaKeyLength;
-import org.example.frontend.cipher.rc6.RC6;
-import org.example.frontend.cipher.rc6.enums.RC6KeyLength;
+import org.example.frontend.cipher.registry.CipherRegistry;
 
 import org.example.frontend.manager.DiffieHellmanManager;
 import org.example.frontend.model.main.ChatRoom;
 import org.example.frontend.utils.DiffieHellman;
 
+import java.math.BigInteger;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class ContextFactory {
+    // контекст комнаты переиспользуется между сообщениями и чанками файлов, пока не сменились настройки комнаты
+    // или общий секрет DH (Context не хранит состояние сцепления, его держит CipherSession)
+    private static final Map<String, CachedContext> cache = new ConcurrentHashMap<>();
+
+    private record CachedContext(String settings, BigInteger sharedSecret, Context context) {}
+
     private ContextFactory() {}
+
     public static Context getContext(ChatRoom room) throws Exception {
         if (room == null) {
             throw new IllegalArgumentException("Chat room cannot be null!!!!");
         }
+        DiffieHellman dh = DiffieHellmanManager.get(room.getRoomId());
+        BigInteger sharedSecret = dh.getSharedSecret();
+        String settings = settingsOf(room);
+
+        // секрет сравнивается по ссылке: DiffieHellman.getKey создает новый BigInteger
+        CachedContext cached = cache.get(room.getRoomId());
+        if (cached != null && cached.sharedSecret() == sharedSecret && cached.settings().equals(settings)) {
+            return cached.context();
+        }
+
+        Context context = createContext(room, sharedSecret);
+        cache.put(room.getRoomId(), new CachedContext(settings, sharedSecret, context));
+        return context;
+    }
+
+    public static void invalidate(String roomId) {
+        cache.remove(roomId);
+    }
+
+    private static String settingsOf(ChatRoom room) {
+        return room.getCipher() + "/" + room.getCipherMode() + "/" + room.getPaddingMode() + "/"
+                + room.getKeyBitLength() + "/" + room.getIv();
+    }
+
+    private static Context createContext(ChatRoom room, BigInteger sharedSecret) {
         log.info("content of current room: {}", room);
         log.info("Cipher current ");
         CipherMode currentCipherMpde =
@@ -46,53 +79,22 @@ public class ContextFactory {
                     default -> throw new IllegalArgumentException("Unexpected value: " + room.getPaddingMode());
                 };
 
-        DiffieHellman dh = DiffieHellmanManager.get(room.getRoomId());
+        CipherProvider provider = CipherRegistry.get(room.getCipher());
+        int keyBitLength = Integer.parseInt(room.getKeyBitLength());
+        if (!provider.getKeyBitLengths().contains(keyBitLength)) {
+            throw new IllegalArgumentException("Unexpected key length: " + room.getKeyBitLength());
+        }
 
-        byte[] fullKey = dh.getSharedSecret().toByteArray();
+        byte[] fullKey = sharedSecret.toByteArray();
         log.info("FULL KEY Length: {}", fullKey.length);
-        int requiredLength = switch (room.getKeyBitLength()) {
-            case "128" -> 16;
-            case "192" -> 24;
-            case "256" -> 32;
-            default -> throw new IllegalArgumentException("Unexpected key length: " + room.getKeyBitLength());
-        };
-
+        int requiredLength = keyBitLength / 8;
 
         byte[] key = new byte[requiredLength];
         int copyLength = Math.min(fullKey.length, requiredLength);
         int offset = fullKey.length > requiredLength ? fullKey.length - requiredLength : 0;
         System.arraycopy(fullKey, offset, key, requiredLength - copyLength, copyLength);
 
-
-        EncryptorDecryptorSymmetric algo =
-                switch (room.getCipher()) {
-                    case "RC6" -> {
-
-                        RC6KeyLength rc6KeyLength =
-                                switch (room.getKeyBitLength()) {
-                                    case "128" -> RC6KeyLength.KEY_128;
-                                    case "192" -> RC6KeyLength.KEY_192;
-                                    case "256" -> RC6KeyLength.KEY_256;
-                                    default -> throw new IllegalArgumentException("Unexpected key length: " + room.getKeyBitLength());
-                                };
-
-                        yield new RC6(rc6KeyLength, key);
-
-                    }
-                    case "MAGENTA" -> {
-                        MagentaKeyLength magentaKeyLength =
-                                switch(room.getKeyBitLength()) {
-                                    case "128" -> MagentaKeyLength.KEY_128;
-                                    case "192" -> MagentaKeyLength.KEY_192;
-                                    case "256" -> MagentaKeyLength.KEY_256;
-                                    default -> throw new IllegalArgumentException("Unexpected key length: " + room.getKeyBitLength());
-                                };
-                        yield new Magenta(magentaKeyLength, key);
-                    }
-
-                    default -> throw new IllegalArgumentException("Unexpected value: " + room.getCipher());
-                };
-
+        EncryptorDecryptorSymmetric algo = provider.create(key);
 
         byte[] decodedIv = Base64.getDecoder().decode(room.getIv());
         log.info("IV: {}", decodedIv);
@@ -1,5 +1,6 @@
 package org.example.frontend.manager;
 
+import org.example.frontend.factory.ContextFactory;
 import org.example.frontend.utils.DiffieHellman;
 
 import java.util.Map;
@@ -10,6 +11,7 @@ public class DiffieHellmanManager {
 
   public static void put(String roomId, DiffieHellman dh) {
     dhMap.put(roomId, dh);
+    ContextFactory.invalidate(roomId);
   }
 
   public static DiffieHellman get(String roomId) {
@@ -18,6 +20,7 @@ public class DiffieHellmanManager {
 
   public static void remove(String roomId) {
     dhMap.remove(roomId);
+    ContextFactory.invalidate(roomId);
   }
 
   private DiffieHellmanManager() {}
@@ -11,10 +11,11 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import javafx.util.Pair;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.example.frontend.cipher.context.CipherSession;
 import org.example.frontend.cipher.context.Context;
+import org.example.frontend.cipher.context.CryptoPool;
 import org.example.frontend.controller.FileTransferProgressController;
 import org.example.frontend.factory.ContextFactory;
 import org.example.frontend.model.main.ChatRoom;
@@ -24,7 +25,6 @@ import org.example.shared.ChatServiceGrpc;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -136,7 +136,6 @@ public class GrpcClient {
     byte[] buffer = new byte[chunkSize];
     int index = 0;
     CompletableFuture<Boolean> deliveryFuture = new CompletableFuture<>();
-    byte[] previous = null;
 
     Context context;
     try{
@@ -185,47 +184,39 @@ public class GrpcClient {
       log.info("amount bytes: {}", amountBytes);
       long amountChunks = (long) Math.ceil((double) amountBytes / (double) chunkSize) + 1;
       log.info("amount chunks: {}", amountChunks);
-      byte[] lastBlock = null;
+      CipherSession session = context.newSession(true);
+      byte[] encrypted = new byte[session.getOutputSize(chunkSize)];
 
       while ((read = fis.read(buffer)) != -1) {
-        if (lastBlock != null) {
-          index++;
-          Pair<byte[], byte[]> encryptedPart = context.encryptDecryptInner(lastBlock, previous, true);
-          previous = encryptedPart.getValue();
-
-          ChatProto.FileChunk chunk = ChatProto.FileChunk.newBuilder()
-                  .setFromUserName(fromUser)
-                  .setToUserName(toUser)
-                  .setFileName(file.getName())
-                  .setData(ByteString.copyFrom(encryptedPart.getKey()))
-                  .setChunkNumber(index)
-                  .setIsLast(false)
-                  .setToken(token)
-                  .setAmountChunks(amountChunks)
-                  .build();
-          reqObs.onNext(chunk);
-
-          int finalIndex = index;
-          Platform.runLater(() -> fileController.updateProgress(finalIndex, amountChunks));
+        int length = session.update(buffer, 0, read, encrypted, 0);
+        if (length == 0) {
+          continue;
         }
-
-        lastBlock = Arrays.copyOf(buffer, read);
+        index++;
+
+        ChatProto.FileChunk chunk = ChatProto.FileChunk.newBuilder()
+                .setFromUserName(fromUser)
+                .setToUserName(toUser)
+                .setFileName(file.getName())
+                .setData(ByteString.copyFrom(encrypted, 0, length))
+                .setChunkNumber(index)
+                .setIsLast(false)
+                .setToken(token)
+                .setAmountChunks(amountChunks)
+                .build();
+        reqObs.onNext(chunk);
+
+        int finalIndex = index;
+        Platform.runLater(() -> fileController.updateProgress(finalIndex, amountChunks));
       }
 
-      Pair<byte[], byte[]> encryptedPart;
-      if (lastBlock != null) {
-        byte[] paddedBlock = context.addPadding(lastBlock);
-        encryptedPart = context.encryptDecryptInner(paddedBlock, previous, true);
-      } else {
-        byte[] emptyPadded = context.addPadding(new byte[0]);
-        encryptedPart = context.encryptDecryptInner(emptyPadded, previous, true);
-      }
+      int length = session.doFinal(encrypted, 0);
 
       ChatProto.FileChunk last = ChatProto.FileChunk.newBuilder()
               .setFromUserName(fromUser)
               .setToUserName(toUser)
               .setFileName(file.getName())
-              .setData(ByteString.copyFrom(encryptedPart.getKey()))
+              .setData(ByteString.copyFrom(encrypted, 0, length))
               .setChunkNumber(index + 1)
               .setIsLast(true)
               .setToken(token)
@@ -233,6 +224,7 @@ public class GrpcClient {
               .build();
       reqObs.onNext(last);
       reqObs.onCompleted();
+      log.info("crypto pool: {}", CryptoPool.metrics());
 
     } catch (Exception e) {
       reqObs.onError(e);
@@ -1,55 +1,99 @@
 package org.example.frontend.simplyfility;
 
 
+import org.example.frontend.stateless.LongMath;
+import org.example.frontend.stateless.PowModContext;
+import org.example.frontend.stateless.PowModStrategy;
+
 import java.math.BigInteger;
 import java.security.SecureRandom;
-import java.util.HashSet;
+import java.util.function.Predicate;
 
 
 public abstract class BasePrimeAbstr implements SimplifilityInterface{
 
     SecureRandom rand = new SecureRandom();
 
-    protected abstract boolean oneIteration(BigInteger checkingValue, BigInteger a);
+    // pow - возведение в степень по модулю checkingValue, общее для всех итераций одного числа
+    protected abstract boolean oneIteration(BigInteger checkingValue, BigInteger a, PowModContext pow);
 
     protected BigInteger denominatorParametr = BigInteger.TWO;
 
+    // JDK (BigInteger.modPow) быстрее остальных на всех длинах из PowModBenchmark; MONTGOMERY и CLASSIC - для сравнения
+    protected PowModStrategy powModStrategy = PowModStrategy.JDK;
+
+    public void setPowModStrategy(PowModStrategy powModStrategy) {
+        this.powModStrategy = powModStrategy;
+    }
+
     @Override
     public boolean isSimple(BigInteger number, double chance) {
-        if (Double.compare(chance, 0.5) < 0 || Double.compare(chance, 1.0) >= 0) throw new IllegalArgumentException("chance must be in [0.5, 1)");
+        checkChance(chance);
         if (number.compareTo(BigInteger.ONE) <= 0) return false;
         if (number.compareTo(BigInteger.valueOf(3)) <= 0) return true;
         if (number.mod(BigInteger.TWO).equals(BigInteger.ZERO)) return false;
+        if (number.bitLength() <= LongMath.MAX_BITS) return LongMath.isPrime(number.longValue());
 
-        BigInteger target = BigInteger.valueOf((long) Math.ceil(1 / (1 - chance)));
-        BigInteger n = BigInteger.ONE;
-
-        HashSet<BigInteger> checked = new HashSet<>();
-
-        do {
-            BigInteger a = getNextA(number, checked);
-            if(!oneIteration(number, a)) {
+        Predicate<BigInteger> iteration = iterationFor(number, powModStrategy.forModulus(number));
+        for (BigInteger a : randomWitnesses(number, iterations(chance))) {
+            if(!iteration.test(a)) {
                 return false;
             }
-            n = n.multiply(denominatorParametr);
-        } while (n.compareTo(target) < 0);
+        }
 
         return true;
     }
 
-    private BigInteger getNextA(BigInteger rightBound, HashSet<BigInteger> checked) {
-        BigInteger candidate;
-        BigInteger upperBound = rightBound.subtract(BigInteger.ONE);
-        do {
-            candidate = new BigInteger(upperBound.bitLength(), rand)
-                    .mod(upperBound.subtract(BigInteger.ONE))
-                    .add(BigInteger.valueOf(2));
-        } while (checked.contains(candidate));
+    // одна итерация для свидетеля a; строится один раз на проверяемое число, чтобы общее состояние
+    // (контекст возведения в степень, разложение n - 1 и т.п.) не пересчитывалось для каждого свидетеля
+    protected Predicate<BigInteger> iterationFor(BigInteger number, PowModContext pow) {
+        return a -> oneIteration(number, a, pow);
+    }
 
-        checked.add(candidate);
-        return candidate;
+    protected static void checkChance(double chance) {
+        if (Double.compare(chance, 0.5) < 0 || Double.compare(chance, 1.0) >= 0) throw new IllegalArgumentException("chance must be in [0.5, 1)");
     }
 
+    // наименьшее k >= 1, при котором denominatorParametr^k >= 1 / (1 - chance)
+    protected int iterations(double chance) {
+        BigInteger target = BigInteger.valueOf((long) Math.ceil(1 / (1 - chance)));
+        BigInteger n = BigInteger.ONE;
+        int amount = 0;
+        do {
+            amount++;
+            n = n.multiply(denominatorParametr);
+        } while (n.compareTo(target) < 0);
+        return amount;
+    }
 
+    // различные основания из [2, number - 1]; если их меньше amount - все по порядку
+    protected BigInteger[] randomWitnesses(BigInteger number, int amount) {
+        BigInteger available = number.subtract(BigInteger.TWO);
+        if (available.compareTo(BigInteger.valueOf(amount)) <= 0) {
+            BigInteger[] all = new BigInteger[available.intValue()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = BigInteger.valueOf(i + 2);
+            }
+            return all;
+        }
+
+        BigInteger[] witnesses = new BigInteger[amount];
+        int count = 0;
+        while (count < amount) {
+            BigInteger candidate = new BigInteger(number.bitLength(), rand).mod(available).add(BigInteger.TWO);
+            if (!contains(witnesses, count, candidate)) {
+                witnesses[count++] = candidate;
+            }
+        }
+        return witnesses;
+    }
 
+    private static boolean contains(BigInteger[] values, int length, BigInteger value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i].equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,94 @@
+package org.example.frontend.simplyfility;
+
+import org.example.frontend.stateless.MontgomeryContext;
+import org.example.frontend.stateless.PowModContext;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// Миллер-Рабин для одного нечетного n > 3: n - 1 = d * 2^s раскладывается один раз, все свидетели
+// считаются по общему контексту возведения в степень, a^(d * 2^r) получается возведением предыдущего
+// значения в квадрат. С MontgomeryContext вся цепочка квадратов идет в форме Монтгомери без деления.
+public final class MillerRabinEngine {
+
+    private final BigInteger number;
+    private final BigInteger minusOne;
+    private final BigInteger d;
+    private final int s;
+    private final PowModContext pow;
+
+    private final MontgomeryContext montgomery;
+    private final int[] montgomeryOne;
+    private final int[] montgomeryMinusOne;
+
+    public MillerRabinEngine(BigInteger number, PowModContext pow) {
+        if (number.compareTo(BigInteger.valueOf(3)) <= 0 || !number.testBit(0)) {
+            throw new IllegalArgumentException("Miller-Rabin needs an odd number greater than 3");
+        }
+        this.number = number;
+        this.minusOne = number.subtract(BigInteger.ONE);
+        this.s = minusOne.getLowestSetBit();
+        this.d = minusOne.shiftRight(s);
+        this.pow = pow;
+
+        if (pow instanceof MontgomeryContext context) {
+            this.montgomery = context;
+            this.montgomeryOne = context.one();
+            this.montgomeryMinusOne = context.toMontgomery(minusOne);
+        } else {
+            this.montgomery = null;
+            this.montgomeryOne = null;
+            this.montgomeryMinusOne = null;
+        }
+    }
+
+    // true - ни один свидетель не доказал составность; проверка прерывается на первом же свидетеле составности
+    public boolean passes(BigInteger... witnesses) {
+        for (BigInteger a : witnesses) {
+            if (!passes(a)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean passes(BigInteger a) {
+        return montgomery != null ? passesMontgomery(a) : passesGeneric(a);
+    }
+
+    private boolean passesMontgomery(BigInteger a) {
+        int[] x = montgomery.powMontgomery(montgomery.toMontgomery(a), d);
+        if (Arrays.equals(x, montgomeryOne) || Arrays.equals(x, montgomeryMinusOne)) {
+            return true;
+        }
+        int[] scratch = new int[x.length + 2];
+        for (int r = 1; r < s; r++) {
+            montgomery.multiply(x, x, x, scratch);
+            if (Arrays.equals(x, montgomeryMinusOne)) {
+                return true;
+            }
+            // 1 без предшествующего -1: нетривиальный корень из единицы
+            if (Arrays.equals(x, montgomeryOne)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private boolean passesGeneric(BigInteger a) {
+        BigInteger x = pow.pow(a, d);
+        if (x.equals(BigInteger.ONE) || x.equals(minusOne)) {
+            return true;
+        }
+        for (int r = 1; r < s; r++) {
+            x = x.multiply(x).mod(number);
+            if (x.equals(minusOne)) {
+                return true;
+            }
+            if (x.equals(BigInteger.ONE)) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
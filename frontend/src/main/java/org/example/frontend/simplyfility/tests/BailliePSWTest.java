@@ -0,0 +1,101 @@
+package org.example.frontend.simplyfility.tests;
+
+
+import org.example.frontend.simplyfility.MillerRabinEngine;
+import org.example.frontend.simplyfility.SimplifilityInterface;
+import org.example.frontend.stateless.LongMath;
+import org.example.frontend.stateless.PowModStrategy;
+
+import java.math.BigInteger;
+
+import static org.example.frontend.stateless.Math.jacobi;
+
+// Baillie-PSW: сильный тест Миллера-Рабина по основанию 2 и сильный тест Люка с параметрами Селфриджа.
+// Контрпримеры не известны, поэтому работа на кандидата фиксирована и от chance не зависит
+// (chance только проверяется на допустимость, как в остальных тестах).
+public class BailliePSWTest implements SimplifilityInterface {
+
+    private static final int[] SMALL_PRIMES = {3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61, 67, 71, 73, 79, 83, 89, 97};
+    private static final BigInteger PRODUCT_LIMIT = BigInteger.valueOf(101 * 101);
+
+    private PowModStrategy powModStrategy = PowModStrategy.JDK;
+
+    public void setPowModStrategy(PowModStrategy powModStrategy) {
+        this.powModStrategy = powModStrategy;
+    }
+
+    @Override
+    public boolean isSimple(BigInteger number, double chance) {
+        if (Double.compare(chance, 0.5) < 0 || Double.compare(chance, 1.0) >= 0) throw new IllegalArgumentException("chance must be in [0.5, 1)");
+        if (number.compareTo(BigInteger.ONE) <= 0) return false;
+        if (number.equals(BigInteger.TWO)) return true;
+        if (!number.testBit(0)) return false;
+        if (number.bitLength() <= LongMath.MAX_BITS) return LongMath.isPrime(number.longValue());
+
+        for (int p : SMALL_PRIMES) {
+            BigInteger prime = BigInteger.valueOf(p);
+            if (number.equals(prime)) return true;
+            if (number.mod(prime).signum() == 0) return false;
+        }
+        // нет делителей меньше 101, значит меньшее 101^2 число простое
+        if (number.compareTo(PRODUCT_LIMIT) < 0) return true;
+
+        MillerRabinEngine base2 = new MillerRabinEngine(number, powModStrategy.forModulus(number));
+        if (!base2.passes(BigInteger.TWO)) return false;
+
+        return strongLucas(number);
+    }
+
+    private static boolean strongLucas(BigInteger n) {
+        // для полного квадрата D с (D/n) = -1 не найдется
+        BigInteger root = n.sqrt();
+        if (root.multiply(root).equals(n)) return false;
+
+        // Селфридж: первое D из 5, -7, 9, -11, ... с (D/n) = -1; P = 1, Q = (1 - D) / 4
+        long d = 5;
+        while (true) {
+            int symbol = jacobi(BigInteger.valueOf(d), n);
+            if (symbol == -1) break;
+            if (symbol == 0 && BigInteger.valueOf(d).abs().compareTo(n) != 0) return false;
+            d = d > 0 ? -(d + 2) : -d + 2;
+        }
+        BigInteger bigD = BigInteger.valueOf(d);
+        BigInteger q = BigInteger.valueOf((1 - d) / 4);
+
+        // n + 1 = k * 2^s, считаем U_k, V_k и Q^k слева направо по битам k
+        BigInteger nPlusOne = n.add(BigInteger.ONE);
+        int s = nPlusOne.getLowestSetBit();
+        BigInteger k = nPlusOne.shiftRight(s);
+
+        BigInteger u = BigInteger.ONE;
+        BigInteger v = BigInteger.ONE;
+        BigInteger qk = q.mod(n);
+        for (int i = k.bitLength() - 2; i >= 0; i--) {
+            // удвоение: U_2j = U_j V_j, V_2j = V_j^2 - 2 Q^j
+            u = u.multiply(v).mod(n);
+            v = v.multiply(v).subtract(qk.shiftLeft(1)).mod(n);
+            qk = qk.multiply(qk).mod(n);
+            if (k.testBit(i)) {
+                // шаг +1 при P = 1: U_(j+1) = (U_j + V_j) / 2, V_(j+1) = (D U_j + V_j) / 2
+                BigInteger nextU = half(u.add(v), n);
+                v = half(bigD.multiply(u).add(v), n);
+                u = nextU;
+                qk = qk.multiply(q).mod(n);
+            }
+        }
+
+        if (u.signum() == 0 || v.signum() == 0) return true;
+        for (int r = 1; r < s; r++) {
+            v = v.multiply(v).subtract(qk.shiftLeft(1)).mod(n);
+            if (v.signum() == 0) return true;
+            qk = qk.multiply(qk).mod(n);
+        }
+        return false;
+    }
+
+    // x / 2 mod n для нечетного n
+    private static BigInteger half(BigInteger x, BigInteger n) {
+        x = x.mod(n);
+        return (x.testBit(0) ? x.add(n) : x).shiftRight(1);
+    }
+}
@@ -2,11 +2,11 @@ package org.example.frontend.simplyfility.tests;
 
 
 import org.example.frontend.simplyfility.BasePrimeAbstr;
+import org.example.frontend.simplyfility.MillerRabinEngine;
+import org.example.frontend.stateless.PowModContext;
 
 import java.math.BigInteger;
-
-import static org.example.frontend.stateless.Math.powBIGs;
-import static org.example.frontend.stateless.Math.powMod;
+import java.util.function.Predicate;
 
 
 public class MillerRabinTest extends BasePrimeAbstr {
@@ -14,25 +14,16 @@ public class MillerRabinTest extends BasePrimeAbstr {
         this.denominatorParametr = BigInteger.valueOf(4);
     }
 
+    // разложение n - 1 и контекст общие для всех свидетелей одного числа
     @Override
-    protected boolean oneIteration(BigInteger checkingValue, BigInteger a) {
-        BigInteger s = BigInteger.ZERO;
-        BigInteger d = checkingValue.subtract(BigInteger.ONE);
-        while (d.mod(BigInteger.TWO).equals(BigInteger.ZERO)) {
-            s = s.add(BigInteger.ONE);
-            d = d.divide(BigInteger.TWO);
-        }
-
-        if (powMod(a,d,checkingValue).equals(BigInteger.ONE)) {
-            return true;
-        }
+    protected Predicate<BigInteger> iterationFor(BigInteger number, PowModContext pow) {
+        MillerRabinEngine engine = new MillerRabinEngine(number, pow);
+        return engine::passes;
+    }
 
-        for (BigInteger r = BigInteger.ZERO; r.compareTo(s) < 0; r = r.add(BigInteger.ONE)) {
-            BigInteger tmp = powMod(a, powBIGs(BigInteger.TWO, r).multiply(d), checkingValue);
-            if (tmp.equals(checkingValue.subtract(BigInteger.ONE))) {
-                return true;
-            }
-        }
-        return false;
+    // isSimple идет через iterationFor; отдельная итерация нужна только для одиночного свидетеля
+    @Override
+    protected boolean oneIteration(BigInteger checkingValue, BigInteger a, PowModContext pow) {
+        return iterationFor(checkingValue, pow).test(a);
     }
 }
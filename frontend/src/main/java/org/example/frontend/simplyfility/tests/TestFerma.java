@@ -2,15 +2,14 @@ package org.example.frontend.simplyfility.tests;
 
 
 import org.example.frontend.simplyfility.BasePrimeAbstr;
+import org.example.frontend.stateless.PowModContext;
 
 import java.math.BigInteger;
 
-import static org.example.frontend.stateless.Math.powMod;
-
 public class TestFerma extends BasePrimeAbstr {
 
     @Override
-    protected boolean oneIteration(BigInteger checkingValue, BigInteger a) {
-        return BigInteger.ONE.equals(powMod(a, checkingValue.subtract(BigInteger.ONE), checkingValue));
+    protected boolean oneIteration(BigInteger checkingValue, BigInteger a, PowModContext pow) {
+        return BigInteger.ONE.equals(pow.pow(a, checkingValue.subtract(BigInteger.ONE)));
     }
 }
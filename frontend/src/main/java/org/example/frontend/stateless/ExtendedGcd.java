@@ -0,0 +1,156 @@
+package org.example.frontend.stateless;
+
+import java.math.BigInteger;
+
+// НОД и коэффициенты Безу для больших чисел без рекурсии.
+// lehmer повторяет последовательность частных алгоритма Евклида, поэтому дает те же коэффициенты,
+// что и Math.gcdExpansion; большинство шагов считается по старшим 62 битам в long, а к BigInteger
+// применяется уже накопленная матрица 2x2. binary - бинарный вариант со сдвигами вместо делений.
+public interface ExtendedGcd {
+
+    // старшие биты для шага Лемера: частные и коэффициенты матрицы остаются в пределах long
+    int LEADING_BITS = 62;
+
+    // {g, x, y}: a * x + b * y = g; a, b >= 0
+    static BigInteger[] lehmer(BigInteger a, BigInteger b) {
+        if (a.signum() < 0 || b.signum() < 0) throw new IllegalArgumentException("arguments must be non-negative");
+        return euclid(a, b, true);
+    }
+
+    // НОД без коэффициентов; a, b >= 0
+    static BigInteger gcd(BigInteger a, BigInteger b) {
+        if (a.signum() < 0 || b.signum() < 0) throw new IllegalArgumentException("arguments must be non-negative");
+        return euclid(a, b, false)[0];
+    }
+
+    // {g, x, y}: a * x + b * y = g, g >= 0; знаки a и b любые, коэффициенты не обязательно минимальные
+    static BigInteger[] binary(BigInteger a, BigInteger b) {
+        BigInteger[] result = binaryNonNegative(a.abs(), b.abs());
+        if (a.signum() < 0) result[1] = result[1].negate();
+        if (b.signum() < 0) result[2] = result[2].negate();
+        return result;
+    }
+
+    // Евклид над парой (oldR, r) = (b, a), x - коэффициенты при a, y - при b
+    private static BigInteger[] euclid(BigInteger a, BigInteger b, boolean withCofactors) {
+        BigInteger oldR = b;
+        BigInteger r = a;
+        BigInteger oldX = BigInteger.ZERO;
+        BigInteger x = BigInteger.ONE;
+        BigInteger oldY = BigInteger.ONE;
+        BigInteger y = BigInteger.ZERO;
+
+        while (r.signum() != 0) {
+            long m00 = 1;
+            long m01 = 0;
+            long m10 = 0;
+            long m11 = 1;
+            if (oldR.compareTo(r) >= 0 && oldR.bitLength() > LEADING_BITS) {
+                // Кнут, алгоритм L: шаги Евклида по старшим битам, пока частное определено однозначно
+                int shift = oldR.bitLength() - LEADING_BITS;
+                long hatA = oldR.shiftRight(shift).longValue();
+                long hatB = r.shiftRight(shift).longValue();
+                while (hatB + m10 != 0 && hatB + m11 != 0) {
+                    long q = java.lang.Math.floorDiv(hatA + m00, hatB + m10);
+                    if (q != java.lang.Math.floorDiv(hatA + m01, hatB + m11)) {
+                        break;
+                    }
+                    long t = m00 - q * m10;
+                    m00 = m10;
+                    m10 = t;
+                    t = m01 - q * m11;
+                    m01 = m11;
+                    m11 = t;
+                    t = hatA - q * hatB;
+                    hatA = hatB;
+                    hatB = t;
+                }
+            }
+
+            if (m01 == 0) {
+                // ни одного шага по старшим битам - обычный шаг с делением
+                BigInteger[] qr = oldR.divideAndRemainder(r);
+                oldR = r;
+                r = qr[1];
+                if (withCofactors) {
+                    BigInteger t = oldX.subtract(qr[0].multiply(x));
+                    oldX = x;
+                    x = t;
+                    t = oldY.subtract(qr[0].multiply(y));
+                    oldY = y;
+                    y = t;
+                }
+                continue;
+            }
+
+            BigInteger[] next = apply(m00, m01, m10, m11, oldR, r);
+            oldR = next[0];
+            r = next[1];
+            if (withCofactors) {
+                next = apply(m00, m01, m10, m11, oldX, x);
+                oldX = next[0];
+                x = next[1];
+                next = apply(m00, m01, m10, m11, oldY, y);
+                oldY = next[0];
+                y = next[1];
+            }
+        }
+        return new BigInteger[]{oldR, oldX, oldY};
+    }
+
+    // (u, v) -> (m00 * u + m01 * v, m10 * u + m11 * v)
+    private static BigInteger[] apply(long m00, long m01, long m10, long m11, BigInteger u, BigInteger v) {
+        return new BigInteger[]{
+                u.multiply(BigInteger.valueOf(m00)).add(v.multiply(BigInteger.valueOf(m01))),
+                u.multiply(BigInteger.valueOf(m10)).add(v.multiply(BigInteger.valueOf(m11)))
+        };
+    }
+
+    // бинарный расширенный алгоритм (HAC 14.61) для a, b >= 0
+    private static BigInteger[] binaryNonNegative(BigInteger a, BigInteger b) {
+        if (a.signum() == 0) return new BigInteger[]{b, BigInteger.ZERO, BigInteger.ONE};
+        if (b.signum() == 0) return new BigInteger[]{a, BigInteger.ONE, BigInteger.ZERO};
+
+        int shift = java.lang.Math.min(a.getLowestSetBit(), b.getLowestSetBit());
+        BigInteger x = a.shiftRight(shift);
+        BigInteger y = b.shiftRight(shift);
+        BigInteger u = x;
+        BigInteger v = y;
+        // u = A * x + B * y, v = C * x + D * y
+        BigInteger bigA = BigInteger.ONE;
+        BigInteger bigB = BigInteger.ZERO;
+        BigInteger bigC = BigInteger.ZERO;
+        BigInteger bigD = BigInteger.ONE;
+
+        while (u.signum() != 0) {
+            while (!u.testBit(0)) {
+                u = u.shiftRight(1);
+                if (bigA.testBit(0) || bigB.testBit(0)) {
+                    bigA = bigA.add(y);
+                    bigB = bigB.subtract(x);
+                }
+                bigA = bigA.shiftRight(1);
+                bigB = bigB.shiftRight(1);
+            }
+            while (!v.testBit(0)) {
+                v = v.shiftRight(1);
+                if (bigC.testBit(0) || bigD.testBit(0)) {
+                    bigC = bigC.add(y);
+                    bigD = bigD.subtract(x);
+                }
+                bigC = bigC.shiftRight(1);
+                bigD = bigD.shiftRight(1);
+            }
+            if (u.compareTo(v) >= 0) {
+                u = u.subtract(v);
+                bigA = bigA.subtract(bigC);
+                bigB = bigB.subtract(bigD);
+            } else {
+                v = v.subtract(u);
+                bigC = bigC.subtract(bigA);
+                bigD = bigD.subtract(bigB);
+            }
+        }
+        return new BigInteger[]{v.shiftLeft(shift), bigC, bigD};
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.frontend.stateless;
+
+// Те же примитивы, что и в Math, для чисел, помещающихся в long (неотрицательных, < 2^63).
+// Math и тесты простоты переходят сюда сами, когда аргументы короче 64 бит.
+public interface LongMath {
+
+    // аргументы не длиннее MAX_BITS бит обрабатываются здесь
+    int MAX_BITS = 63;
+
+    // детерминированный набор оснований Миллера-Рабина для всех n < 2^64
+    long[] WITNESSES = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
+    // бинарный алгоритм Евклида (Стейна)
+    static long gcd(long a, long b) {
+        a = java.lang.Math.abs(a);
+        b = java.lang.Math.abs(b);
+        if (a == 0) return b;
+        if (b == 0) return a;
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>>= Long.numberOfTrailingZeros(a);
+        while (b != 0) {
+            b >>>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long tmp = a;
+                a = b;
+                b = tmp;
+            }
+            b -= a;
+        }
+        return a << shift;
+    }
+
+    // {g, x, y}: a * x + b * y = g, те же коэффициенты, что дает Math.gcdExpansion; a, b >= 0
+    static long[] gcdExpansion(long a, long b) {
+        long oldR = b;
+        long r = a;
+        long oldX = 0;
+        long x = 1;
+        long oldY = 1;
+        long y = 0;
+        while (r != 0) {
+            long q = oldR / r;
+            long tmp = oldR - q * r;
+            oldR = r;
+            r = tmp;
+            tmp = oldX - q * x;
+            oldX = x;
+            x = tmp;
+            tmp = oldY - q * y;
+            oldY = y;
+            y = tmp;
+        }
+        return new long[]{oldR, oldX, oldY};
+    }
+
+    // n нечетное >= 3
+    static int jacobi(long a, long n) {
+        if (n < 3 || (n & 1) == 0) throw new IllegalArgumentException("invalid n for Jacobi symbol");
+        a = java.lang.Math.floorMod(a, n);
+        int result = 1;
+        while (a != 0) {
+            int twos = Long.numberOfTrailingZeros(a);
+            a >>>= twos;
+            // (2/n) = -1 при n = 3, 5 (mod 8)
+            if ((twos & 1) == 1 && ((n & 7) == 3 || (n & 7) == 5)) {
+                result = -result;
+            }
+            // квадратичный закон взаимности
+            if ((a & 3) == 3 && (n & 3) == 3) {
+                result = -result;
+            }
+            long tmp = a;
+            a = n % tmp;
+            n = tmp;
+        }
+        return n == 1 ? result : 0;
+    }
+
+    // a * b mod m, m > 0
+    static long mulMod(long a, long b, long m) {
+        if (m <= 0) throw new IllegalArgumentException("Modulus must be positive");
+        a = java.lang.Math.floorMod(a, m);
+        b = java.lang.Math.floorMod(b, m);
+        if (java.lang.Math.multiplyHigh(a, b) == 0 && a * b >= 0) {
+            return a * b % m;
+        }
+        if ((m & 1) == 1) {
+            // (a * b * R^(-1)) * R^2 * R^(-1) = a * b
+            long inverse = montgomeryInverse(m);
+            return montgomeryMultiply(montgomeryMultiply(a, b, m, inverse), montgomeryR2(m), m, inverse);
+        }
+        // четный модуль: сдвиги со сложением, a, b < m < 2^63
+        long result = 0;
+        while (b != 0) {
+            if ((b & 1) == 1) {
+                result = addMod(result, a, m);
+            }
+            a = addMod(a, a, m);
+            b >>>= 1;
+        }
+        return result;
+    }
+
+    // a^e mod m, e >= 0, m > 1
+    static long powMod(long a, long e, long m) {
+        if (m <= 1) throw new IllegalArgumentException("Modulus must be greater than 1");
+        if (e < 0) throw new IllegalArgumentException("Exponent can't be negative");
+        a = java.lang.Math.floorMod(a, m);
+        if ((m & 1) == 0) {
+            long result = 1;
+            while (e != 0) {
+                if ((e & 1) == 1) {
+                    result = mulMod(result, a, m);
+                }
+                a = mulMod(a, a, m);
+                e >>>= 1;
+            }
+            return result;
+        }
+
+        // нечетный модуль: Монтгомери с R = 2^64, умножение через multiplyHigh без деления
+        long inverse = montgomeryInverse(m);
+        long r2 = montgomeryR2(m);
+        long x = montgomeryMultiply(a, r2, m, inverse);
+        long result = montgomeryMultiply(1, r2, m, inverse);
+        while (e != 0) {
+            if ((e & 1) == 1) {
+                result = montgomeryMultiply(result, x, m, inverse);
+            }
+            x = montgomeryMultiply(x, x, m, inverse);
+            e >>>= 1;
+        }
+        return montgomeryMultiply(result, 1, m, inverse);
+    }
+
+    // детерминированный Миллер-Рабин для всех n < 2^63
+    static boolean isPrime(long n) {
+        if (n < 2) return false;
+        if (n < 4) return true;
+        if ((n & 1) == 0) return false;
+        for (long p : new long[]{3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37}) {
+            if (n == p) return true;
+            if (n % p == 0) return false;
+        }
+        if (n < 41 * 41) return true;
+
+        int s = Long.numberOfTrailingZeros(n - 1);
+        long d = (n - 1) >>> s;
+        long inverse = montgomeryInverse(n);
+        long r2 = montgomeryR2(n);
+        long one = montgomeryMultiply(1, r2, n, inverse);
+        long minusOne = n - one;
+        for (long witness : WITNESSES) {
+            long a = witness % n;
+            if (a == 0) {
+                continue;
+            }
+            long x = montgomeryMultiply(a, r2, n, inverse);
+            long power = one;
+            for (long e = d; e != 0; e >>>= 1) {
+                if ((e & 1) == 1) {
+                    power = montgomeryMultiply(power, x, n, inverse);
+                }
+                x = montgomeryMultiply(x, x, n, inverse);
+            }
+            if (power == one || power == minusOne) {
+                continue;
+            }
+            boolean passed = false;
+            for (int r = 1; r < s && !passed; r++) {
+                power = montgomeryMultiply(power, power, n, inverse);
+                if (power == one) {
+                    return false;
+                }
+                passed = power == minusOne;
+            }
+            if (!passed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long addMod(long a, long b, long m) {
+        long sum = a + b;
+        return Long.compareUnsigned(sum, m) >= 0 ? sum - m : sum;
+    }
+
+    // m^(-1) mod 2^64 для нечетного m методом Ньютона
+    private static long montgomeryInverse(long m) {
+        long inverse = m;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - m * inverse;
+        }
+        return inverse;
+    }
+
+    // 2^128 mod m: 2^64 mod m и еще 64 удвоения
+    private static long montgomeryR2(long m) {
+        long r = Long.remainderUnsigned(-1L, m) + 1;
+        if (r == m) {
+            r = 0;
+        }
+        for (int i = 0; i < 64; i++) {
+            r = addMod(r, r, m);
+        }
+        return r;
+    }
+
+    // a * b * 2^(-64) mod m, a, b < m
+    private static long montgomeryMultiply(long a, long b, long m, long inverse) {
+        return redc(java.lang.Math.unsignedMultiplyHigh(a, b), a * b, m, inverse);
+    }
+
+    // (high:low) * 2^(-64) mod m при high < m
+    private static long redc(long high, long low, long m, long inverse) {
+        // q * m совпадает с low в младших 64 битах, поэтому разность делится на 2^64 нацело
+        long qm = java.lang.Math.unsignedMultiplyHigh(low * inverse, m);
+        return Long.compareUnsigned(high, qm) < 0 ? high - qm + m : high - qm;
+    }
+}
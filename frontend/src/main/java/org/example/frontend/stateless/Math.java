@@ -9,16 +9,22 @@ public interface Math {
         if (BigInteger.ZERO.equals(a) && BigInteger.ZERO.equals(b)) throw new IllegalArgumentException("zero arguments");
         a = a.abs();
         b = b.abs();
-        if(BigInteger.ZERO.equals(a)) return b;
-        return gcd(b.mod(a), a);
-
+        if (a.bitLength() <= LongMath.MAX_BITS && b.bitLength() <= LongMath.MAX_BITS) {
+            return BigInteger.valueOf(LongMath.gcd(a.longValue(), b.longValue()));
+        }
+        return ExtendedGcd.gcd(a, b);
     }
 
     static BigInteger[] gcdExpansion(BigInteger a, BigInteger b) {
+        if (a.signum() >= 0 && b.signum() >= 0 && a.bitLength() <= LongMath.MAX_BITS && b.bitLength() <= LongMath.MAX_BITS) {
+            long[] result = LongMath.gcdExpansion(a.longValue(), b.longValue());
+            return new BigInteger[] {BigInteger.valueOf(result[0]), BigInteger.valueOf(result[1]), BigInteger.valueOf(result[2])};
+        }
         if (BigInteger.ZERO.equals(a)) {
             return new BigInteger[] {b, BigInteger.ZERO, BigInteger.ONE};
         }
-        BigInteger[] result = gcdExpansion(b.mod(a), a);
+        // первый шаг как раньше (b может быть отрицательным, a - только положительным), дальше - Лемер
+        BigInteger[] result = ExtendedGcd.lehmer(b.mod(a), a);
         BigInteger x = result[2].subtract(result[1].multiply(b.divide(a)));
         BigInteger y = result[1];
         return new BigInteger[] {result[0], x, y};
@@ -32,8 +38,13 @@ public interface Math {
 
         if (aByMod.compareTo(BigInteger.ZERO) == 0) return 0;
 
+        if (p.bitLength() <= LongMath.MAX_BITS) {
+            long pLong = p.longValue();
+            return LongMath.powMod(aByMod.longValue(), (pLong - 1) / 2, pLong) == 1 ? 1 : -1;
+        }
+
         BigInteger exponent = (p.subtract(BigInteger.ONE)).divide(BigInteger.TWO);
-        BigInteger result = powMod(aByMod, exponent, p);
+        BigInteger result = aByMod.modPow(exponent, p);
 
         return (result.compareTo(BigInteger.ONE) == 0) ? 1 : -1;
     }
@@ -41,6 +52,9 @@ public interface Math {
 
     static int jacobi(BigInteger a, BigInteger n) {
         if (n.compareTo(BigInteger.valueOf(3)) < 0 || n.mod(BigInteger.TWO).equals(BigInteger.ZERO)) throw new IllegalArgumentException("invalid n for Jacobi symbol");
+        if (n.bitLength() <= LongMath.MAX_BITS) {
+            return LongMath.jacobi(a.mod(n).longValue(), n.longValue());
+        }
 
         a = a.mod(n);
         if (a.equals(BigInteger.ZERO)) {
@@ -77,6 +91,10 @@ public interface Math {
         if (m.equals(BigInteger.ZERO)) {
             throw new IllegalArgumentException("Modulus cannot be zero");
         }
+        if (m.signum() > 0 && m.bitLength() <= LongMath.MAX_BITS && !m.equals(BigInteger.ONE)
+                && n.signum() >= 0 && n.bitLength() <= LongMath.MAX_BITS) {
+            return BigInteger.valueOf(LongMath.powMod(a.mod(m).longValue(), n.longValue(), m.longValue()));
+        }
 
         BigInteger result = BigInteger.ONE;
         a = a.mod(m);
@@ -110,6 +128,9 @@ public interface Math {
 
     static int legendreQaudraticDependency(BigInteger a, BigInteger p) {
         if (p.compareTo(BigInteger.valueOf(3)) < 0 || p.mod(BigInteger.TWO).equals(BigInteger.ZERO)) throw new IllegalArgumentException("p is not even or < 3");
+        if (p.bitLength() <= LongMath.MAX_BITS) {
+            return LongMath.jacobi(a.mod(p).longValue(), p.longValue());
+        }
 
 
         a = a.mod(p);
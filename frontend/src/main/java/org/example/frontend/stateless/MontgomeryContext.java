@@ -0,0 +1,200 @@
+package org.example.frontend.stateless;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// Арифметика Монтгомери по нечетному модулю m: числа хранятся как x * R mod m, R = 2^(32k),
+// k - число 32-битных слов m (младшее слово первым). Умножение - CIOS, без деления.
+// Возведение в степень - скользящим окном по нечетным степеням основания.
+// Контекст неизменяемый, его можно делить между потоками и использовать для многих pow.
+public final class MontgomeryContext implements PowModContext {
+
+    private static final long MASK = 0xFFFFFFFFL;
+
+    private final BigInteger modulus;
+    private final int size;
+    private final int[] m;
+    private final int mInverse;
+    private final int[] rSquared;
+    private final int[] one;
+
+    public MontgomeryContext(BigInteger modulus) {
+        if (modulus.signum() <= 0 || !modulus.testBit(0) || modulus.equals(BigInteger.ONE)) {
+            throw new IllegalArgumentException("Montgomery modulus must be odd and greater than 1");
+        }
+        this.modulus = modulus;
+        this.size = (modulus.bitLength() + 31) >>> 5;
+        this.m = toWords(modulus, size);
+
+        // -m^(-1) mod 2^32 методом Ньютона: каждая итерация удваивает число верных бит
+        int inverse = m[0];
+        for (int i = 0; i < 4; i++) {
+            inverse *= 2 - m[0] * inverse;
+        }
+        this.mInverse = -inverse;
+
+        BigInteger r = BigInteger.ONE.shiftLeft(32 * size);
+        this.rSquared = toWords(r.multiply(r).mod(modulus), size);
+        this.one = toWords(r.mod(modulus), size);
+    }
+
+    public BigInteger getModulus() {
+        return modulus;
+    }
+
+    @Override
+    public BigInteger pow(BigInteger base, BigInteger exponent) {
+        if (exponent.signum() < 0) {
+            throw new IllegalArgumentException("Exponent can't be negative");
+        }
+        return fromMontgomery(powMontgomery(toMontgomery(base), exponent));
+    }
+
+    // x -> x * R mod m
+    public int[] toMontgomery(BigInteger x) {
+        int[] result = new int[size];
+        multiply(toWords(x.mod(modulus), size), rSquared, result, new int[size + 2]);
+        return result;
+    }
+
+    // x * R mod m -> x
+    public BigInteger fromMontgomery(int[] x) {
+        int[] plain = new int[size];
+        plain[0] = 1;
+        int[] result = new int[size];
+        multiply(x, plain, result, new int[size + 2]);
+        return fromWords(result);
+    }
+
+    // base уже в форме Монтгомери, результат тоже
+    public int[] powMontgomery(int[] base, BigInteger exponent) {
+        int[] scratch = new int[size + 2];
+        int bits = exponent.bitLength();
+        if (bits == 0) {
+            return one.clone();
+        }
+
+        int window = windowBits(bits);
+        // odd[i] = base^(2i + 1)
+        int[][] odd = new int[1 << (window - 1)][];
+        odd[0] = base.clone();
+        if (odd.length > 1) {
+            int[] square = new int[size];
+            multiply(base, base, square, scratch);
+            for (int i = 1; i < odd.length; i++) {
+                odd[i] = new int[size];
+                multiply(odd[i - 1], square, odd[i], scratch);
+            }
+        }
+
+        int[] result = null;
+        int i = bits - 1;
+        while (i >= 0) {
+            if (!exponent.testBit(i)) {
+                multiply(result, result, result, scratch);
+                i--;
+                continue;
+            }
+            // окно [low, i] не длиннее window и заканчивается единичным битом
+            int low = java.lang.Math.max(i - window + 1, 0);
+            while (!exponent.testBit(low)) {
+                low++;
+            }
+            int value = 0;
+            for (int j = i; j >= low; j--) {
+                value = (value << 1) | (exponent.testBit(j) ? 1 : 0);
+                if (result != null) {
+                    multiply(result, result, result, scratch);
+                }
+            }
+            if (result == null) {
+                result = odd[value >>> 1].clone();
+            } else {
+                multiply(result, odd[value >>> 1], result, scratch);
+            }
+            i = low - 1;
+        }
+        return result;
+    }
+
+    // out = a * b * R^(-1) mod m; out может совпадать с a или b, scratch - не меньше size + 2 слов
+    public void multiply(int[] a, int[] b, int[] out, int[] scratch) {
+        int[] t = scratch;
+        Arrays.fill(t, 0, size + 2, 0);
+        for (int i = 0; i < size; i++) {
+            long ai = a[i] & MASK;
+            long carry = 0;
+            for (int j = 0; j < size; j++) {
+                long sum = (t[j] & MASK) + ai * (b[j] & MASK) + carry;
+                t[j] = (int) sum;
+                carry = sum >>> 32;
+            }
+            long sum = (t[size] & MASK) + carry;
+            t[size] = (int) sum;
+            t[size + 1] = (int) (sum >>> 32);
+
+            long q = (t[0] * mInverse) & MASK;
+            carry = ((t[0] & MASK) + q * (m[0] & MASK)) >>> 32;
+            for (int j = 1; j < size; j++) {
+                sum = (t[j] & MASK) + q * (m[j] & MASK) + carry;
+                t[j - 1] = (int) sum;
+                carry = sum >>> 32;
+            }
+            sum = (t[size] & MASK) + carry;
+            t[size - 1] = (int) sum;
+            t[size] = t[size + 1] + (int) (sum >>> 32);
+        }
+
+        // результат меньше 2m: одно вычитание при необходимости
+        if (t[size] != 0 || compare(t, m) >= 0) {
+            long borrow = 0;
+            for (int j = 0; j < size; j++) {
+                long diff = (t[j] & MASK) - (m[j] & MASK) - borrow;
+                out[j] = (int) diff;
+                borrow = (diff >>> 63);
+            }
+        } else {
+            System.arraycopy(t, 0, out, 0, size);
+        }
+    }
+
+    public int[] one() {
+        return one.clone();
+    }
+
+    private int compare(int[] a, int[] b) {
+        for (int j = size - 1; j >= 0; j--) {
+            if (a[j] != b[j]) {
+                return Integer.compareUnsigned(a[j], b[j]);
+            }
+        }
+        return 0;
+    }
+
+    private static int windowBits(int exponentBits) {
+        if (exponentBits <= 7) return 1;
+        if (exponentBits <= 25) return 2;
+        if (exponentBits <= 81) return 3;
+        if (exponentBits <= 241) return 4;
+        if (exponentBits <= 673) return 5;
+        if (exponentBits <= 1793) return 6;
+        return 7;
+    }
+
+    private static int[] toWords(BigInteger x, int size) {
+        byte[] bytes = x.toByteArray();
+        int[] words = new int[size];
+        for (int i = 0; i < bytes.length && i < size * 4; i++) {
+            words[i >>> 2] |= (bytes[bytes.length - 1 - i] & 0xFF) << ((i & 3) << 3);
+        }
+        return words;
+    }
+
+    private static BigInteger fromWords(int[] words) {
+        byte[] bytes = new byte[words.length * 4];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[bytes.length - 1 - i] = (byte) (words[i >>> 2] >>> ((i & 3) << 3));
+        }
+        return new BigInteger(1, bytes);
+    }
+}
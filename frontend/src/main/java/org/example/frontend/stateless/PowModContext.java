@@ -0,0 +1,9 @@
+package org.example.frontend.stateless;
+
+import java.math.BigInteger;
+
+// Возведение в степень по одному фиксированному модулю; контекст переиспользуется для многих оснований и показателей
+@FunctionalInterface
+public interface PowModContext {
+    BigInteger pow(BigInteger base, BigInteger exponent);
+}
@@ -0,0 +1,33 @@
+package org.example.frontend.stateless;
+
+import java.math.BigInteger;
+
+// Способ модульного возведения в степень для тестов простоты и символа Лежандра
+public enum PowModStrategy {
+    // Math.powMod: умножение и деление BigInteger на каждом шаге
+    CLASSIC {
+        @Override
+        public PowModContext forModulus(BigInteger modulus) {
+            return (base, exponent) -> Math.powMod(base, exponent, modulus);
+        }
+    },
+    // MontgomeryContext со скользящим окном; для четного модуля - CLASSIC
+    MONTGOMERY {
+        @Override
+        public PowModContext forModulus(BigInteger modulus) {
+            if (modulus.signum() > 0 && modulus.testBit(0) && !modulus.equals(BigInteger.ONE)) {
+                return new MontgomeryContext(modulus);
+            }
+            return CLASSIC.forModulus(modulus);
+        }
+    },
+    // BigInteger.modPow; по умолчанию в тестах простоты, самый быстрый по PowModBenchmark
+    JDK {
+        @Override
+        public PowModContext forModulus(BigInteger modulus) {
+            return (base, exponent) -> base.modPow(exponent, modulus);
+        }
+    };
+
+    public abstract PowModContext forModulus(BigInteger modulus);
+}
@@ -1,6 +1,7 @@
 package org.example.frontend.utils;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.frontend.cipher.registry.CipherRegistry;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
@@ -22,6 +23,7 @@ public class RoomTokenEncoder {
     String[] parts = decoded.split(SPLIT_DELIMITER);
     log.info("decoded token: {}", decoded);
     if (parts.length != 6) throw new IllegalArgumentException("Invalid token format: " + decoded);
+    if (!CipherRegistry.contains(parts[1])) throw new IllegalArgumentException("Unknown cipher in token: " + parts[1]);
     return new DecodedRoomToken(parts[0], parts[1], parts[2], parts[3], parts[4], parts[5]);
   }
 
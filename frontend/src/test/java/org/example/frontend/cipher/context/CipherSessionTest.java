@@ -0,0 +1,127 @@
+package org.example.frontend.cipher.context;
+
+import org.example.frontend.cipher.constants.CipherMode;
+import org.example.frontend.cipher.constants.PaddingMode;
+import org.example.frontend.cipher.rc6.RC6;
+import org.example.frontend.cipher.rc6.enums.RC6KeyLength;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CipherSessionTest {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final Random random = new Random(7);
+
+    // случайная нарезка входа на update дает то же, что шифрование одним куском
+    @Test
+    void chunkedUpdatesMatchOneShot() {
+        for (CipherMode mode : CipherMode.values()) {
+            Context context = newContext(mode, PaddingMode.PKCS7);
+            for (int length : new int[] {0, 1, 15, 16, 17, 100, 1000}) {
+                byte[] data = randomBytes(length);
+                byte[] expected = context.newSession(true).doFinal(data);
+
+                byte[] encrypted = runChunked(context.newSession(true), data);
+                assertArrayEquals(expected, encrypted, mode + " encrypt " + length);
+                assertArrayEquals(data, runChunked(context.newSession(false), encrypted), mode + " decrypt " + length);
+            }
+        }
+    }
+
+    @Test
+    void oneShotMatchesContext() {
+        for (CipherMode mode : CipherMode.values()) {
+            Context context = newContext(mode, PaddingMode.PKCS7);
+            byte[] data = randomBytes(77);
+            byte[] expected = context.encryptDecryptInner(context.addPadding(data), null, true).first();
+            assertArrayEquals(expected, context.newSession(true).doFinal(data), mode.toString());
+        }
+    }
+
+    // при расшифровании последний блок придерживается до doFinal, потому что в нем паддинг
+    @Test
+    void decryptionHoldsBackLastBlock() {
+        Context context = newContext(CipherMode.CBC, PaddingMode.PKCS7);
+        byte[] data = randomBytes(3 * BLOCK_SIZE);
+        byte[] encrypted = context.newSession(true).doFinal(data);
+        assertEquals(4 * BLOCK_SIZE, encrypted.length);
+
+        CipherSession session = context.newSession(false);
+        byte[] head = session.update(encrypted, 0, encrypted.length);
+        assertEquals(3 * BLOCK_SIZE, head.length);
+        assertEquals(0, session.doFinal().length);
+        assertArrayEquals(data, head);
+
+        CipherSession encryptSession = context.newSession(true);
+        assertEquals(2 * BLOCK_SIZE, encryptSession.update(data, 0, 2 * BLOCK_SIZE + 5).length);
+    }
+
+    // src == dst на том же смещении, но в сессии уже есть придержанный хвост: выход длиннее входа и забегает вперед
+    @Test
+    void inPlaceUpdateWithPendingBlock() {
+        for (CipherMode mode : CipherMode.values()) {
+            Context context = newContext(mode, PaddingMode.PKCS7);
+            byte[] data = randomBytes(10 * BLOCK_SIZE + 3);
+            byte[] expected = context.newSession(true).doFinal(data);
+
+            CipherSession session = context.newSession(true);
+            assertEquals(0, session.update(data, 0, 5).length);
+
+            int length = data.length - 5;
+            byte[] buffer = new byte[length + 2 * BLOCK_SIZE];
+            System.arraycopy(data, 5, buffer, 0, length);
+            int written = session.update(buffer, 0, length, buffer, 0);
+            written += session.doFinal(buffer, written);
+
+            assertArrayEquals(expected, Arrays.copyOf(buffer, written), mode.toString());
+        }
+    }
+
+    // src == dst, выход сдвинут вперед относительно входа
+    @Test
+    void inPlaceUpdateWithShiftedOutput() {
+        for (CipherMode mode : CipherMode.values()) {
+            Context context = newContext(mode, PaddingMode.PKCS7);
+            byte[] data = randomBytes(10 * BLOCK_SIZE);
+            byte[] expected = context.newSession(true).doFinal(data);
+
+            CipherSession session = context.newSession(true);
+            byte[] buffer = new byte[data.length + 3 * BLOCK_SIZE];
+            System.arraycopy(data, 0, buffer, 0, data.length);
+            int written = session.update(buffer, 0, data.length, buffer, BLOCK_SIZE);
+            written += session.doFinal(buffer, BLOCK_SIZE + written);
+
+            assertArrayEquals(expected, Arrays.copyOfRange(buffer, BLOCK_SIZE, BLOCK_SIZE + written), mode.toString());
+        }
+    }
+
+    private byte[] runChunked(CipherSession session, byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int offset = 0;
+        while (offset < data.length) {
+            int amount = Math.min(data.length - offset, random.nextInt(40));
+            out.writeBytes(session.update(data, offset, amount));
+            offset += amount;
+        }
+        out.writeBytes(session.doFinal());
+        return out.toByteArray();
+    }
+
+    private Context newContext(CipherMode mode, PaddingMode paddingMode) {
+        RC6 cipher = new RC6(RC6KeyLength.KEY_128, randomBytes(16));
+        return new Context(cipher, mode, paddingMode, randomBytes(BLOCK_SIZE), 3);
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.frontend.cipher.context;
+
+import org.example.frontend.cipher.constants.CipherMode;
+import org.example.frontend.cipher.constants.PaddingMode;
+import org.example.frontend.cipher.rc6.RC6;
+import org.example.frontend.cipher.rc6.enums.RC6KeyLength;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// файлы идут через отображение сегментами по 8 МБ, результат должен совпадать с обработкой в памяти
+class ContextFileTest {
+
+    private static final int SEGMENT_SIZE = 1024 * 1024 * 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void segmentedFilesMatchInMemory() throws IOException {
+        Random random = new Random(8);
+        byte[] data = new byte[2 * SEGMENT_SIZE + 16 * 1000 + 7];
+        random.nextBytes(data);
+        Path input = Files.write(directory.resolve("input"), data);
+
+        for (CipherMode mode : CipherMode.values()) {
+            byte[] key = new byte[16];
+            byte[] iv = new byte[16];
+            random.nextBytes(key);
+            random.nextBytes(iv);
+            Context context = new Context(new RC6(RC6KeyLength.KEY_128, key), mode, PaddingMode.PKCS7, iv, 5);
+
+            byte[] expected = context.encryptDecryptInner(context.addPadding(data), null, true).first();
+
+            Path encrypted = directory.resolve(mode + ".enc");
+            Path decrypted = directory.resolve(mode + ".dec");
+            context.encrypt(input, encrypted);
+            assertArrayEquals(expected, Files.readAllBytes(encrypted), mode + " encrypt");
+
+            context.decrypt(encrypted, decrypted);
+            assertArrayEquals(data, Files.readAllBytes(decrypted), mode + " decrypt");
+        }
+    }
+
+    @Test
+    void smallAndEmptyFiles() throws IOException {
+        Random random = new Random(9);
+        Context context = new Context(new RC6(RC6KeyLength.KEY_128, new byte[16]), CipherMode.CBC, PaddingMode.PKCS7, new byte[16]);
+        for (int length : new int[] {0, 1, 16, 33}) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            Path input = Files.write(directory.resolve("small" + length), data);
+            Path encrypted = directory.resolve("small" + length + ".enc");
+            Path decrypted = directory.resolve("small" + length + ".dec");
+
+            context.encrypt(input, encrypted);
+            assertArrayEquals(context.encryptDecryptInner(context.addPadding(data), null, true).first(),
+                    Files.readAllBytes(encrypted), "encrypt " + length);
+            context.decrypt(encrypted, decrypted);
+            assertArrayEquals(data, Files.readAllBytes(decrypted), "decrypt " + length);
+        }
+    }
+}
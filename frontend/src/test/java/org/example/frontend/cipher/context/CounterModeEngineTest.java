@@ -0,0 +1,127 @@
+package org.example.frontend.cipher.context;
+
+import org.example.frontend.cipher.constants.CipherMode;
+import org.example.frontend.cipher.constants.PaddingMode;
+import org.example.frontend.cipher.rc6.RC6;
+import org.example.frontend.cipher.rc6.enums.RC6KeyLength;
+import org.example.frontend.cipher.utils.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// формат счетчика CTR/RD: 128-битное big-endian число, блок i = P_i xor E(IV + i * delta mod 2^128)
+class CounterModeEngineTest {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(128);
+
+    private final RC6 cipher = new RC6(RC6KeyLength.KEY_128, new byte[16]);
+
+    @Test
+    void ctrCarriesIntoHighWord() {
+        byte[] iv = counterBytes(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.valueOf(3)));
+        checkContext(CipherMode.CTR, iv, 1, 9);
+    }
+
+    @Test
+    void rdUsesDeltaAndWrapsAround() {
+        byte[] iv = counterBytes(MODULUS.subtract(BigInteger.valueOf(100)));
+        checkContext(CipherMode.RD, iv, 37, 9);
+    }
+
+    @Test
+    void splitCallsContinueFromReturnedCounter() {
+        Random random = new Random(5);
+        byte[] iv = randomBytes(random, BLOCK_SIZE);
+        Context context = new Context(cipher, CipherMode.RD, PaddingMode.PKCS7, iv, 12345);
+        byte[] data = randomBytes(random, 70 * BLOCK_SIZE);
+
+        byte[] whole = context.encryptDecryptInner(data, null, true).first();
+
+        byte[] head = new byte[23 * BLOCK_SIZE];
+        byte[] tail = new byte[data.length - head.length];
+        System.arraycopy(data, 0, head, 0, head.length);
+        System.arraycopy(data, head.length, tail, 0, tail.length);
+        Pair<byte[], byte[]> first = context.encryptDecryptInner(head, null, true);
+        byte[] second = context.encryptDecryptInner(tail, first.second(), true).first();
+
+        byte[] joined = new byte[data.length];
+        System.arraycopy(first.first(), 0, joined, 0, head.length);
+        System.arraycopy(second, 0, joined, head.length, second.length);
+        assertArrayEquals(whole, joined);
+    }
+
+    // смещение firstBlock * delta шире 64 бит
+    @Test
+    void engineHandlesWideOffsets() {
+        Random random = new Random(6);
+        long delta = Long.MAX_VALUE - 11;
+        long firstBlock = 1L << 61;
+        byte[] counter = randomBytes(random, BLOCK_SIZE);
+        CounterModeEngine engine = new CounterModeEngine(cipher, delta);
+
+        byte[] in = randomBytes(random, 5 * BLOCK_SIZE);
+        byte[] out = new byte[in.length];
+        engine.apply(counter, firstBlock, in, 0, out, 0, 5);
+
+        BigInteger start = new BigInteger(1, counter);
+        for (int i = 0; i < 5; i++) {
+            BigInteger value = start.add(BigInteger.valueOf(delta).multiply(BigInteger.valueOf(firstBlock + i))).mod(MODULUS);
+            assertArrayEquals(expectedBlock(in, i, value), slice(out, i * BLOCK_SIZE), "block " + i);
+        }
+
+        byte[] next = new byte[BLOCK_SIZE];
+        engine.advance(counter, firstBlock, next);
+        BigInteger expectedNext = start.add(BigInteger.valueOf(delta).multiply(BigInteger.valueOf(firstBlock))).mod(MODULUS);
+        assertArrayEquals(counterBytes(expectedNext), next);
+    }
+
+    private void checkContext(CipherMode mode, byte[] iv, int delta, int amountBlocks) {
+        Random random = new Random(mode.ordinal());
+        Context context = new Context(cipher, mode, PaddingMode.PKCS7, iv, delta);
+        byte[] data = randomBytes(random, amountBlocks * BLOCK_SIZE);
+
+        Pair<byte[], byte[]> result = context.encryptDecryptInner(data, null, true);
+
+        BigInteger start = new BigInteger(1, iv);
+        for (int i = 0; i < amountBlocks; i++) {
+            BigInteger value = start.add(BigInteger.valueOf((long) i * delta)).mod(MODULUS);
+            assertArrayEquals(expectedBlock(data, i, value), slice(result.first(), i * BLOCK_SIZE), "block " + i);
+        }
+        BigInteger next = start.add(BigInteger.valueOf((long) amountBlocks * delta)).mod(MODULUS);
+        assertArrayEquals(counterBytes(next), result.second(), "next counter");
+        assertArrayEquals(data, context.encryptDecryptInner(result.first(), null, false).first(), "decrypt");
+    }
+
+    private byte[] expectedBlock(byte[] data, int index, BigInteger counter) {
+        byte[] keystream = cipher.encrypt(counterBytes(counter));
+        byte[] block = slice(data, index * BLOCK_SIZE);
+        for (int j = 0; j < BLOCK_SIZE; j++) {
+            block[j] ^= keystream[j];
+        }
+        return block;
+    }
+
+    private static byte[] counterBytes(BigInteger value) {
+        byte[] raw = value.toByteArray();
+        byte[] result = new byte[BLOCK_SIZE];
+        int length = Math.min(raw.length, BLOCK_SIZE);
+        System.arraycopy(raw, raw.length - length, result, BLOCK_SIZE - length, length);
+        return result;
+    }
+
+    private static byte[] slice(byte[] array, int offset) {
+        byte[] result = new byte[BLOCK_SIZE];
+        System.arraycopy(array, offset, result, 0, BLOCK_SIZE);
+        return result;
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.frontend.cipher.magenta;
+
+import org.example.frontend.cipher.magenta.enums.MagentaKeyLength;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// FastMagenta должна совпадать с эталонной Magenta бит в бит
+class FastMagentaTest {
+
+    private static final int BLOCK_SIZE = 16;
+
+    @Test
+    void singleBlocksMatchReference() {
+        Random random = new Random(1);
+        for (MagentaKeyLength keyLength : MagentaKeyLength.values()) {
+            for (int t = 0; t < 50; t++) {
+                byte[] key = randomBytes(random, keyLength.getKeyLengthInBytes());
+                Magenta reference = new Magenta(keyLength, key);
+                FastMagenta fast = new FastMagenta(keyLength, key);
+                byte[] block = randomBytes(random, BLOCK_SIZE);
+
+                byte[] encrypted = reference.encrypt(block.clone());
+                assertArrayEquals(encrypted, fast.encrypt(block), keyLength + " encrypt");
+                assertArrayEquals(reference.decrypt(encrypted.clone()), fast.decrypt(encrypted), keyLength + " decrypt");
+                assertArrayEquals(block, fast.decrypt(fast.encrypt(block)), keyLength + " round trip");
+            }
+        }
+    }
+
+    // пачки разной длины проходят через 8, 4 и 1 блок за раз; смещения и работа на месте
+    @Test
+    void bulkCallsMatchReference() {
+        Random random = new Random(2);
+        for (MagentaKeyLength keyLength : MagentaKeyLength.values()) {
+            byte[] key = randomBytes(random, keyLength.getKeyLengthInBytes());
+            Magenta reference = new Magenta(keyLength, key);
+            FastMagenta fast = new FastMagenta(keyLength, key);
+
+            for (int amountBlocks = 1; amountBlocks <= 21; amountBlocks++) {
+                int inOff = random.nextInt(7);
+                int outOff = random.nextInt(7);
+                byte[] in = randomBytes(random, inOff + amountBlocks * BLOCK_SIZE);
+
+                byte[] expected = new byte[amountBlocks * BLOCK_SIZE];
+                for (int i = 0; i < amountBlocks; i++) {
+                    reference.encryptBlock(in, inOff + i * BLOCK_SIZE, expected, i * BLOCK_SIZE);
+                }
+
+                byte[] out = new byte[outOff + amountBlocks * BLOCK_SIZE];
+                fast.encryptBlocks(in, inOff, out, outOff, amountBlocks);
+                assertArrayEquals(expected, slice(out, outOff, expected.length), keyLength + " blocks " + amountBlocks);
+
+                byte[] inPlace = in.clone();
+                fast.encryptBlocks(inPlace, inOff, inPlace, inOff, amountBlocks);
+                assertArrayEquals(expected, slice(inPlace, inOff, expected.length), keyLength + " in place " + amountBlocks);
+
+                byte[] decrypted = new byte[amountBlocks * BLOCK_SIZE];
+                fast.decryptBlocks(out, outOff, decrypted, 0, amountBlocks);
+                assertArrayEquals(slice(in, inOff, decrypted.length), decrypted, keyLength + " decrypt " + amountBlocks);
+            }
+        }
+    }
+
+    // вызовы разных экземпляров вперемешку не мешают друг другу (общие таблицы, scratch-буфер потока)
+    @Test
+    void interleavedInstancesMatchReference() {
+        Random random = new Random(3);
+        MagentaKeyLength[] lengths = MagentaKeyLength.values();
+        Magenta[] references = new Magenta[lengths.length];
+        FastMagenta[] fasts = new FastMagenta[lengths.length];
+        for (int i = 0; i < lengths.length; i++) {
+            byte[] key = randomBytes(random, lengths[i].getKeyLengthInBytes());
+            references[i] = new Magenta(lengths[i], key);
+            fasts[i] = new FastMagenta(lengths[i], key);
+        }
+
+        for (int t = 0; t < 60; t++) {
+            int k = t % lengths.length;
+            int amountBlocks = 1 + random.nextInt(12);
+            byte[] in = randomBytes(random, amountBlocks * BLOCK_SIZE);
+            byte[] expected = new byte[in.length];
+            for (int i = 0; i < amountBlocks; i++) {
+                references[k].encryptBlock(in, i * BLOCK_SIZE, expected, i * BLOCK_SIZE);
+            }
+            byte[] out = new byte[in.length];
+            fasts[k].encryptBlocks(in, 0, out, 0, amountBlocks);
+            assertArrayEquals(expected, out, lengths[k] + " call " + t);
+        }
+    }
+
+    private static byte[] slice(byte[] array, int offset, int length) {
+        byte[] result = new byte[length];
+        System.arraycopy(array, offset, result, 0, length);
+        return result;
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
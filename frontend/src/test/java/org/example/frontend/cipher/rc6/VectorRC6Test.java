@@ -0,0 +1,97 @@
+package org.example.frontend.cipher.rc6;
+
+import org.example.frontend.cipher.rc6.enums.RC6KeyLength;
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// векторная реализация должна совпадать со скалярной (одиночный блок всегда идет скалярным циклом)
+class VectorRC6Test {
+
+    private static final int BLOCK_SIZE = 16;
+
+    // тестовый вектор из спецификации RC6: нулевой 128-битный ключ, нулевой блок
+    @Test
+    void scalarMatchesSpecificationVector() {
+        RC6 rc6 = new RC6(RC6KeyLength.KEY_128, new byte[16]);
+        assertArrayEquals(HexFormat.of().parseHex("8fc3a53656b1f778c129df4e9848a41e"), rc6.encrypt(new byte[16]));
+    }
+
+    @Test
+    void vectorBlocksMatchScalar() {
+        assumeTrue(VectorRC6.isSupported(), "Vector API is not available");
+        Random random = new Random(14);
+        for (RC6KeyLength keyLength : RC6KeyLength.values()) {
+            byte[] key = randomBytes(random, keyLength.getKeyLengthInBytes());
+            RC6 rc6 = new RC6(keyLength, key);
+            int amountRounds = (rc6.s.length - 4) / 2;
+
+            int amountBlocks = 3 * VectorRC6.LANES + 1;
+            byte[] in = randomBytes(random, 3 + amountBlocks * BLOCK_SIZE);
+            byte[] expected = scalar(rc6, in, 3, amountBlocks, true);
+
+            byte[] out = new byte[5 + amountBlocks * BLOCK_SIZE];
+            int done = VectorRC6.encryptBlocks(rc6.s, amountRounds, in, 3, out, 5, amountBlocks);
+            assertEquals(0, done % VectorRC6.LANES, keyLength.toString());
+            assertArrayEquals(slice(expected, 0, done), slice(out, 5, done), keyLength + " encrypt");
+
+            byte[] decrypted = new byte[done * BLOCK_SIZE];
+            assertEquals(done, VectorRC6.decryptBlocks(rc6.s, amountRounds, out, 5, decrypted, 0, done));
+            assertArrayEquals(copy(in, 3, done * BLOCK_SIZE), decrypted, keyLength + " decrypt");
+        }
+    }
+
+    // все ветви encryptBlocks (вектор, 8, 4, одиночные) на разном числе блоков
+    @Test
+    void bulkCallsMatchScalar() {
+        Random random = new Random(15);
+        for (RC6KeyLength keyLength : RC6KeyLength.values()) {
+            RC6 rc6 = new RC6(keyLength, randomBytes(random, keyLength.getKeyLengthInBytes()));
+            for (int amountBlocks = 1; amountBlocks <= 4 * Math.max(8, VectorRC6.LANES) + 3; amountBlocks++) {
+                byte[] in = randomBytes(random, amountBlocks * BLOCK_SIZE);
+                byte[] expected = scalar(rc6, in, 0, amountBlocks, true);
+
+                byte[] out = new byte[in.length];
+                rc6.encryptBlocks(in, 0, out, 0, amountBlocks);
+                assertArrayEquals(expected, out, keyLength + " encrypt " + amountBlocks);
+                assertArrayEquals(scalar(rc6, out, 0, amountBlocks, false), in, keyLength + " scalar decrypt " + amountBlocks);
+
+                rc6.decryptBlocks(out, 0, out, 0, amountBlocks);
+                assertArrayEquals(in, out, keyLength + " decrypt " + amountBlocks);
+            }
+        }
+    }
+
+    private static byte[] scalar(RC6 rc6, byte[] in, int inOff, int amountBlocks, boolean isEncrypt) {
+        byte[] out = new byte[amountBlocks * BLOCK_SIZE];
+        for (int i = 0; i < amountBlocks; i++) {
+            if (isEncrypt) {
+                rc6.encryptBlock(in, inOff + i * BLOCK_SIZE, out, i * BLOCK_SIZE);
+            } else {
+                rc6.decryptBlock(in, inOff + i * BLOCK_SIZE, out, i * BLOCK_SIZE);
+            }
+        }
+        return out;
+    }
+
+    private static byte[] slice(byte[] array, int offset, int amountBlocks) {
+        return copy(array, offset, amountBlocks * BLOCK_SIZE);
+    }
+
+    private static byte[] copy(byte[] array, int offset, int length) {
+        byte[] result = new byte[length];
+        System.arraycopy(array, offset, result, 0, length);
+        return result;
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.frontend.dh;
+
+import org.example.frontend.simplyfility.tests.BailliePSWTest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SafePrimeSearchTest {
+
+    private static final double PROBABILITY = 0.999;
+
+    // при малых длинах окон меньше, чем потоков: поиск не должен зависать
+    @Test
+    void smallBitLengthsFinishWithManyThreads() {
+        for (int bitLength : new int[] {3, 4, 5, 12, 14, 15, 20}) {
+            for (int attempt = 0; attempt < 5; attempt++) {
+                SafePrimeSearch search = new SafePrimeSearch(new BailliePSWTest(), PROBABILITY, bitLength, 4);
+                Pair<BigInteger, BigInteger> result = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> search.search());
+                checkSafePrime(result, bitLength);
+            }
+        }
+    }
+
+    // Protocol.DEFAULT_BITLEN = 5
+    @Test
+    void defaultBitLengthFinishesInParallel() {
+        Pair<BigInteger, BigInteger> result = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> Protocol.generatePairParallel());
+        checkSafePrime(result, 5);
+    }
+
+    @Test
+    void cancelStopsSearch() {
+        SafePrimeSearch search = new SafePrimeSearch(new BailliePSWTest(), PROBABILITY, 4096, 4);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            scheduler.schedule(search::cancel, 200, TimeUnit.MILLISECONDS);
+            assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> assertThrows(CancellationException.class, search::search));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static void checkSafePrime(Pair<BigInteger, BigInteger> result, int bitLength) {
+        BigInteger p = result.getLeft();
+        BigInteger g = result.getRight();
+        assertEquals(bitLength + 1, p.bitLength());
+        assertTrue(p.isProbablePrime(50), p.toString());
+        assertTrue(p.shiftRight(1).isProbablePrime(50), p.toString());
+        assertNotEquals(BigInteger.ONE, g.modPow(BigInteger.TWO, p));
+        assertNotEquals(BigInteger.ONE, g.modPow(p.shiftRight(1), p));
+    }
+}
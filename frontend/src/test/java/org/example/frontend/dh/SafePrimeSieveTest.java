@@ -0,0 +1,125 @@
+package org.example.frontend.dh;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SafePrimeSieveTest {
+
+    // решето со stride = 1 проходит все q длины bitLength, у которых q и 2q + 1 не делятся на малые простые
+    @Test
+    void singleSieveCoversWholeRange() {
+        Random random = new Random(19);
+        for (int bitLength = 2; bitLength <= 17; bitLength++) {
+            BigInteger start = randomStart(random, bitLength);
+            List<BigInteger> candidates = drain(new SafePrimeSieve(bitLength, start));
+            assertEquals(expected(bitLength), new HashSet<>(candidates), "bits " + bitLength);
+            assertEquals(candidates.size(), new HashSet<>(candidates).size(), "bits " + bitLength);
+        }
+    }
+
+    // решета offset = 0..stride-1 не пересекаются и вместе дают то же множество, в том числе при stride > числа окон
+    @Test
+    void stridedSievesPartitionRange() {
+        Random random = new Random(20);
+        for (int bitLength : new int[] {5, 12, 14, 15, 17}) {
+            for (int stride : new int[] {2, 3, 4, 7}) {
+                BigInteger start = randomStart(random, bitLength);
+                Set<BigInteger> union = new HashSet<>();
+                int total = 0;
+                for (int offset = 0; offset < stride; offset++) {
+                    List<BigInteger> part = drain(new SafePrimeSieve(bitLength, start, offset, stride));
+                    union.addAll(part);
+                    total += part.size();
+                }
+                assertEquals(union.size(), total, "bits " + bitLength + ", stride " + stride);
+                assertEquals(expected(bitLength), union, "bits " + bitLength + ", stride " + stride);
+            }
+        }
+    }
+
+    @Test
+    void windowCountLimitsUsefulSieves() {
+        assertEquals(BigInteger.ONE, SafePrimeSieve.windowCount(5));
+        assertEquals(BigInteger.ONE, SafePrimeSieve.windowCount(14));
+        assertEquals(BigInteger.TWO, SafePrimeSieve.windowCount(15));
+
+        SafePrimeSieve empty = new SafePrimeSieve(12, BigInteger.valueOf(2049), 1, 4);
+        assertNull(empty.nextCandidate());
+    }
+
+    // большие длины: кандидаты растут от start и переживают деление на малые простые
+    @Test
+    void largeCandidatesSurviveSmallPrimes() {
+        BigInteger start = randomStart(new Random(21), 256);
+        SafePrimeSieve sieve = new SafePrimeSieve(256, start);
+        BigInteger previous = BigInteger.ZERO;
+        for (int i = 0; i < 200; i++) {
+            BigInteger candidate = sieve.nextCandidate();
+            assertTrue(candidate.compareTo(previous) > 0);
+            assertEquals(256, candidate.bitLength());
+            assertTrue(survives(candidate));
+            previous = candidate;
+        }
+    }
+
+    private static final int[] SMALL_PRIMES = oddPrimesBelow(1 << 15);
+
+    private static Set<BigInteger> expected(int bitLength) {
+        int bound = bitLength > 16 ? 1 << 15 : 1 << (bitLength - 1);
+        Set<BigInteger> result = new HashSet<>();
+        for (long q = (1L << (bitLength - 1)) + 1; q < 1L << bitLength; q += 2) {
+            boolean survives = true;
+            for (int k = 0; k < SMALL_PRIMES.length && SMALL_PRIMES[k] < bound && survives; k++) {
+                survives = q % SMALL_PRIMES[k] != 0 && (2 * q + 1) % SMALL_PRIMES[k] != 0;
+            }
+            if (survives) {
+                result.add(BigInteger.valueOf(q));
+            }
+        }
+        return result;
+    }
+
+    private static boolean survives(BigInteger q) {
+        BigInteger p = q.shiftLeft(1).add(BigInteger.ONE);
+        for (int prime : SMALL_PRIMES) {
+            BigInteger divisor = BigInteger.valueOf(prime);
+            if (q.mod(divisor).signum() == 0 || p.mod(divisor).signum() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] oddPrimesBelow(int limit) {
+        List<Integer> primes = new ArrayList<>();
+        for (int d = 3; d < limit; d += 2) {
+            if (BigInteger.valueOf(d).isProbablePrime(30)) {
+                primes.add(d);
+            }
+        }
+        return primes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static List<BigInteger> drain(SafePrimeSieve sieve) {
+        List<BigInteger> result = new ArrayList<>();
+        BigInteger candidate;
+        while ((candidate = sieve.nextCandidate()) != null) {
+            result.add(candidate);
+        }
+        return result;
+    }
+
+    private static BigInteger randomStart(Random random, int bitLength) {
+        return new BigInteger(bitLength, random).setBit(bitLength - 1).setBit(0);
+    }
+}
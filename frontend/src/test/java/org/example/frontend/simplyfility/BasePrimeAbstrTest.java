@@ -0,0 +1,73 @@
+package org.example.frontend.simplyfility;
+
+import org.example.frontend.simplyfility.tests.MillerRabinTest;
+import org.example.frontend.simplyfility.tests.SolovayStrassenTest;
+import org.example.frontend.simplyfility.tests.TestFerma;
+import org.example.frontend.stateless.PowModStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// все тесты простоты при любой стратегии возведения в степень согласны с BigInteger.isProbablePrime
+class BasePrimeAbstrTest {
+
+    private static final double CHANCE = 0.999999;
+
+    @Test
+    void primesAndCompositesForEveryStrategy() {
+        Random random = new Random(31);
+        for (PowModStrategy strategy : PowModStrategy.values()) {
+            for (BasePrimeAbstr test : List.of(new TestFerma(), new SolovayStrassenTest(), new MillerRabinTest())) {
+                test.setPowModStrategy(strategy);
+                String name = test.getClass().getSimpleName() + " " + strategy;
+                for (int bits : new int[] {64, 65, 128, 512}) {
+                    BigInteger prime = BigInteger.probablePrime(bits, random);
+                    assertTrue(test.isSimple(prime, CHANCE), name + " prime " + prime);
+
+                    BigInteger composite = BigInteger.probablePrime(bits / 2 + 1, random).multiply(BigInteger.probablePrime(bits / 2, random));
+                    assertFalse(test.isSimple(composite, CHANCE), name + " composite " + composite);
+                }
+                for (int bits = 2; bits <= 16; bits++) {
+                    BigInteger n = new BigInteger(bits, random);
+                    assertEquals(n.isProbablePrime(50), test.isSimple(n, CHANCE), name + " small " + n);
+                }
+            }
+        }
+    }
+
+    // числа Кармайкла (6k + 1)(12k + 1)(18k + 1) длиннее 64 бит: тест Ферма их пропускает, остальные - нет
+    @Test
+    void strongTestsRejectCarmichaelNumbers() {
+        List<BigInteger> carmichael = carmichaelNumbers(3);
+        for (PowModStrategy strategy : PowModStrategy.values()) {
+            for (BasePrimeAbstr test : List.of(new SolovayStrassenTest(), new MillerRabinTest())) {
+                test.setPowModStrategy(strategy);
+                for (BigInteger n : carmichael) {
+                    assertFalse(test.isSimple(n, CHANCE), test.getClass().getSimpleName() + " " + strategy + " " + n);
+                }
+            }
+        }
+    }
+
+    static List<BigInteger> carmichaelNumbers(int amount) {
+        List<BigInteger> result = new ArrayList<>();
+        BigInteger k = BigInteger.ONE.shiftLeft(22);
+        while (result.size() < amount) {
+            k = k.add(BigInteger.ONE);
+            BigInteger a = k.multiply(BigInteger.valueOf(6)).add(BigInteger.ONE);
+            BigInteger b = k.multiply(BigInteger.valueOf(12)).add(BigInteger.ONE);
+            BigInteger c = k.multiply(BigInteger.valueOf(18)).add(BigInteger.ONE);
+            if (a.isProbablePrime(50) && b.isProbablePrime(50) && c.isProbablePrime(50)) {
+                result.add(a.multiply(b).multiply(c));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.frontend.simplyfility.tests;
+
+import org.example.frontend.stateless.PowModStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// BailliePSWTest (тест простоты, а не JUnit-тест) против BigInteger.isProbablePrime
+class BailliePSWPrimalityTest {
+
+    private static final double CHANCE = 0.99;
+
+    @Test
+    void randomOddNumbersMatchBigInteger() {
+        Random random = new Random(23);
+        for (PowModStrategy strategy : PowModStrategy.values()) {
+            BailliePSWTest test = new BailliePSWTest();
+            test.setPowModStrategy(strategy);
+            for (int bits : new int[] {2, 8, 14, 20, 62, 63, 64, 65, 100, 256, 1024}) {
+                for (int t = 0; t < 300; t++) {
+                    BigInteger n = new BigInteger(bits, random).setBit(0);
+                    assertEquals(n.isProbablePrime(100), test.isSimple(n, CHANCE), strategy + " " + n);
+                }
+            }
+        }
+    }
+
+    @Test
+    void specialNumbers() {
+        BailliePSWTest test = new BailliePSWTest();
+        BigInteger two = BigInteger.TWO;
+        // простые Мерсенна и составные 2^67 - 1 = 193707721 * 761838257287, 2^101 - 1
+        assertTrue(test.isSimple(two.pow(89).subtract(BigInteger.ONE), CHANCE));
+        assertTrue(test.isSimple(two.pow(127).subtract(BigInteger.ONE), CHANCE));
+        assertTrue(test.isSimple(two.pow(521).subtract(BigInteger.ONE), CHANCE));
+        assertFalse(test.isSimple(two.pow(67).subtract(BigInteger.ONE), CHANCE));
+        assertFalse(test.isSimple(two.pow(101).subtract(BigInteger.ONE), CHANCE));
+
+        // квадрат простого длиннее 64 бит: тест Люка должен отсечь его до поиска D
+        BigInteger prime = BigInteger.probablePrime(40, new Random(24));
+        assertFalse(test.isSimple(prime.multiply(prime), CHANCE));
+
+        for (BigInteger n : carmichaelNumbers()) {
+            assertFalse(test.isSimple(n, CHANCE), n.toString());
+        }
+
+        assertFalse(test.isSimple(BigInteger.ONE, CHANCE));
+        assertTrue(test.isSimple(BigInteger.TWO, CHANCE));
+        assertFalse(test.isSimple(two.pow(70), CHANCE));
+        assertThrows(IllegalArgumentException.class, () -> test.isSimple(BigInteger.TEN, 1.0));
+    }
+
+    // (6k + 1)(12k + 1)(18k + 1) при простых сомножителях
+    private static BigInteger[] carmichaelNumbers() {
+        BigInteger[] result = new BigInteger[3];
+        int count = 0;
+        for (long k = 1L << 22; count < result.length; k++) {
+            BigInteger a = BigInteger.valueOf(6 * k + 1);
+            BigInteger b = BigInteger.valueOf(12 * k + 1);
+            BigInteger c = BigInteger.valueOf(18 * k + 1);
+            if (a.isProbablePrime(50) && b.isProbablePrime(50) && c.isProbablePrime(50)) {
+                result[count++] = a.multiply(b).multiply(c);
+            }
+        }
+        return result;
+    }
+}
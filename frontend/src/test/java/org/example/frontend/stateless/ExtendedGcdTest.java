@@ -0,0 +1,121 @@
+package org.example.frontend.stateless;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExtendedGcdTest {
+
+    private static final int[] BITS = {1, 30, 62, 63, 64, 65, 126, 200, 512, 2048};
+
+    private final Random random = new Random(25);
+
+    // Лемер повторяет частные Евклида, поэтому коэффициенты совпадают с обычным расширенным алгоритмом
+    @Test
+    void lehmerMatchesEuclid() {
+        for (int bitsA : BITS) {
+            for (int bitsB : BITS) {
+                for (int t = 0; t < 10; t++) {
+                    BigInteger a = new BigInteger(bitsA, random);
+                    BigInteger b = new BigInteger(bitsB, random);
+                    BigInteger common = new BigInteger(1 + random.nextInt(64), random);
+                    if (t % 2 == 1) {
+                        a = a.multiply(common);
+                        b = b.multiply(common);
+                    }
+                    assertArrayEquals(euclid(a, b), ExtendedGcd.lehmer(a, b), a + ", " + b);
+                    assertEquals(a.gcd(b), ExtendedGcd.gcd(a, b), a + ", " + b);
+                }
+            }
+        }
+    }
+
+    // соседние числа Фибоначчи - самый длинный Евклид (все частные 1); рекурсивный вариант на них падал
+    @Test
+    void fibonacciNumbers() {
+        BigInteger previous = BigInteger.ONE;
+        BigInteger current = BigInteger.ONE;
+        for (int i = 0; i < 20000; i++) {
+            BigInteger next = previous.add(current);
+            previous = current;
+            current = next;
+        }
+        BigInteger[] result = ExtendedGcd.lehmer(previous, current);
+        assertEquals(BigInteger.ONE, result[0]);
+        assertEquals(BigInteger.ONE, previous.multiply(result[1]).add(current.multiply(result[2])));
+        assertEquals(BigInteger.ONE, ExtendedGcd.gcd(current, previous));
+    }
+
+    @Test
+    void binarySatisfiesBezoutForAnySigns() {
+        for (int bits : BITS) {
+            for (int t = 0; t < 50; t++) {
+                BigInteger a = new BigInteger(bits, random);
+                BigInteger b = new BigInteger(1 + random.nextInt(bits + 8), random);
+                if (random.nextBoolean()) a = a.negate();
+                if (random.nextBoolean()) b = b.negate();
+                BigInteger[] result = ExtendedGcd.binary(a, b);
+                assertEquals(a.gcd(b), result[0], a + ", " + b);
+                assertEquals(result[0], a.multiply(result[1]).add(b.multiply(result[2])), a + ", " + b);
+            }
+        }
+    }
+
+    // Math.gcdExpansion после перехода на Лемера и long дает то же, что прежний рекурсивный вариант, в том числе при b < 0
+    @Test
+    void mathGcdExpansionKeepsOldResults() {
+        for (int bits : BITS) {
+            for (int t = 0; t < 50; t++) {
+                BigInteger a = new BigInteger(bits, random).add(BigInteger.ONE);
+                BigInteger b = new BigInteger(1 + random.nextInt(bits + 8), random);
+                if (t % 3 == 0) b = b.negate();
+                assertArrayEquals(recursive(a, b), Math.gcdExpansion(a, b), a + ", " + b);
+                assertEquals(a.gcd(b), Math.gcd(a, b.negate()), a + ", " + b);
+            }
+        }
+        assertArrayEquals(recursive(BigInteger.ZERO, BigInteger.TEN), Math.gcdExpansion(BigInteger.ZERO, BigInteger.TEN));
+    }
+
+    @Test
+    void rejectsNegativeArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ExtendedGcd.lehmer(BigInteger.ONE.negate(), BigInteger.TEN));
+        assertThrows(IllegalArgumentException.class, () -> ExtendedGcd.gcd(BigInteger.TEN, BigInteger.ONE.negate()));
+    }
+
+    private static BigInteger[] euclid(BigInteger a, BigInteger b) {
+        BigInteger oldR = b;
+        BigInteger r = a;
+        BigInteger oldX = BigInteger.ZERO;
+        BigInteger x = BigInteger.ONE;
+        BigInteger oldY = BigInteger.ONE;
+        BigInteger y = BigInteger.ZERO;
+        while (r.signum() != 0) {
+            BigInteger[] qr = oldR.divideAndRemainder(r);
+            oldR = r;
+            r = qr[1];
+            BigInteger tmp = oldX.subtract(qr[0].multiply(x));
+            oldX = x;
+            x = tmp;
+            tmp = oldY.subtract(qr[0].multiply(y));
+            oldY = y;
+            y = tmp;
+        }
+        return new BigInteger[] {oldR, oldX, oldY};
+    }
+
+    // прежняя рекурсивная реализация Math.gcdExpansion
+    private static BigInteger[] recursive(BigInteger a, BigInteger b) {
+        if (BigInteger.ZERO.equals(a)) {
+            return new BigInteger[] {b, BigInteger.ZERO, BigInteger.ONE};
+        }
+        BigInteger[] result = recursive(b.mod(a), a);
+        BigInteger x = result[2].subtract(result[1].multiply(b.divide(a)));
+        BigInteger y = result[1];
+        return new BigInteger[] {result[0], x, y};
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.frontend.stateless;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// long-версии против BigInteger на числах всех длин до 63 бит
+class LongMathTest {
+
+    private final Random random = new Random(24);
+
+    @Test
+    void gcdAndExpansionMatchBigInteger() {
+        for (int t = 0; t < 20000; t++) {
+            long a = randomLong();
+            long b = randomLong();
+            BigInteger expected = BigInteger.valueOf(a).gcd(BigInteger.valueOf(b));
+            assertEquals(expected.longValueExact(), LongMath.gcd(a, b), a + ", " + b);
+
+            long[] expansion = LongMath.gcdExpansion(a, b);
+            assertEquals(expected.longValueExact(), expansion[0], a + ", " + b);
+            BigInteger bezout = BigInteger.valueOf(a).multiply(BigInteger.valueOf(expansion[1]))
+                    .add(BigInteger.valueOf(b).multiply(BigInteger.valueOf(expansion[2])));
+            assertEquals(expected, bezout, a + ", " + b);
+        }
+        assertEquals(0, LongMath.gcd(0, 0));
+        assertEquals(Long.MAX_VALUE, LongMath.gcd(0, Long.MAX_VALUE));
+    }
+
+    // Math.gcdExpansion переходит на long для коротких чисел и должен давать те же коэффициенты, что раньше
+    @Test
+    void gcdExpansionKeepsEuclidCoefficients() {
+        for (int t = 0; t < 5000; t++) {
+            long a = randomLong();
+            long b = randomLong();
+            BigInteger[] expected = euclid(BigInteger.valueOf(a), BigInteger.valueOf(b));
+            long[] actual = LongMath.gcdExpansion(a, b);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected[i].longValueExact(), actual[i], a + ", " + b);
+            }
+        }
+    }
+
+    @Test
+    void mulModAndPowModMatchBigInteger() {
+        for (int t = 0; t < 20000; t++) {
+            long m = java.lang.Math.max(2, randomLong());
+            long a = random.nextLong();
+            long b = random.nextLong();
+            long e = randomLong();
+            BigInteger modulus = BigInteger.valueOf(m);
+            assertEquals(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(modulus).longValueExact(),
+                    LongMath.mulMod(a, b, m), a + " * " + b + " mod " + m);
+            assertEquals(BigInteger.valueOf(a).modPow(BigInteger.valueOf(e), modulus).longValueExact(),
+                    LongMath.powMod(a, e, m), a + " ^ " + e + " mod " + m);
+        }
+        assertEquals(1, LongMath.powMod(Long.MAX_VALUE - 1, 0, Long.MAX_VALUE));
+        assertEquals(1, LongMath.mulMod(Long.MAX_VALUE - 1, Long.MAX_VALUE - 1, Long.MAX_VALUE));
+    }
+
+    // для n = p * q символ Якоби равен произведению символов Лежандра (критерий Эйлера)
+    @Test
+    void jacobiMatchesEulerCriterion() {
+        for (int t = 0; t < 2000; t++) {
+            BigInteger p = BigInteger.probablePrime(2 + random.nextInt(30), random);
+            BigInteger q = BigInteger.probablePrime(2 + random.nextInt(30), random);
+            if (p.equals(BigInteger.TWO) || q.equals(BigInteger.TWO)) {
+                continue;
+            }
+            long a = random.nextLong();
+            long n = p.multiply(q).longValueExact();
+            assertEquals(euler(a, p) * euler(a, q), LongMath.jacobi(a, n), a + " / " + n);
+            assertEquals(euler(a, p), LongMath.jacobi(a, p.longValueExact()), a + " / " + p);
+        }
+    }
+
+    @Test
+    void isPrimeMatchesBigInteger() {
+        for (int t = 0; t < 20000; t++) {
+            long n = randomLong();
+            assertEquals(BigInteger.valueOf(n).isProbablePrime(100), LongMath.isPrime(n), Long.toString(n));
+        }
+        for (long n = 0; n < 5000; n++) {
+            assertEquals(BigInteger.valueOf(n).isProbablePrime(100), LongMath.isPrime(n), Long.toString(n));
+        }
+        // сильные псевдопростые по основанию 2 и числа Кармайкла
+        for (long n : new long[] {561, 2047, 3215031751L, 2152302898747L, 3474749660383L, 341550071728321L,
+                3825123056546413051L}) {
+            assertFalse(LongMath.isPrime(n), Long.toString(n));
+        }
+        assertTrue(LongMath.isPrime(Long.MAX_VALUE - 24));
+        assertTrue(LongMath.isPrime((1L << 61) - 1));
+    }
+
+    private static int euler(long a, BigInteger p) {
+        BigInteger value = BigInteger.valueOf(a).mod(p);
+        if (value.signum() == 0) {
+            return 0;
+        }
+        return value.modPow(p.shiftRight(1), p).equals(BigInteger.ONE) ? 1 : -1;
+    }
+
+    private static BigInteger[] euclid(BigInteger a, BigInteger b) {
+        BigInteger oldR = b;
+        BigInteger r = a;
+        BigInteger oldX = BigInteger.ZERO;
+        BigInteger x = BigInteger.ONE;
+        BigInteger oldY = BigInteger.ONE;
+        BigInteger y = BigInteger.ZERO;
+        while (r.signum() != 0) {
+            BigInteger[] qr = oldR.divideAndRemainder(r);
+            oldR = r;
+            r = qr[1];
+            BigInteger tmp = oldX.subtract(qr[0].multiply(x));
+            oldX = x;
+            x = tmp;
+            tmp = oldY.subtract(qr[0].multiply(y));
+            oldY = y;
+            y = tmp;
+        }
+        return new BigInteger[] {oldR, oldX, oldY};
+    }
+
+    // неотрицательное число случайной длины от 1 до 63 бит
+    private long randomLong() {
+        return random.nextLong() >>> (1 + random.nextInt(63));
+    }
+}
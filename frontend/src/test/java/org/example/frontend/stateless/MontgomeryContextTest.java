@@ -0,0 +1,85 @@
+package org.example.frontend.stateless;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MontgomeryContextTest {
+
+    private static final int[] BITS = {2, 31, 32, 33, 63, 64, 65, 127, 256, 521, 1024, 2048};
+
+    @Test
+    void powMatchesModPow() {
+        Random random = new Random(21);
+        for (int bits : BITS) {
+            for (int t = 0; t < 10; t++) {
+                BigInteger modulus = oddModulus(random, bits);
+                MontgomeryContext context = new MontgomeryContext(modulus);
+                BigInteger base = new BigInteger(bits + 8, random);
+                BigInteger exponent = new BigInteger(random.nextInt(bits + 64) + 1, random);
+
+                assertEquals(base.modPow(exponent, modulus), context.pow(base, exponent), "bits " + bits);
+                assertEquals(base.mod(modulus), context.pow(base, BigInteger.ONE), "bits " + bits);
+                assertEquals(BigInteger.ONE.mod(modulus), context.pow(base, BigInteger.ZERO), "bits " + bits);
+                assertEquals(BigInteger.ZERO, context.pow(modulus, exponent.add(BigInteger.ONE)), "bits " + bits);
+            }
+        }
+    }
+
+    // multiply можно вызывать на месте: out совпадает с a или b
+    @Test
+    void multiplyMatchesBigIntegerAndAllowsAliasing() {
+        Random random = new Random(22);
+        for (int bits : BITS) {
+            BigInteger modulus = oddModulus(random, bits);
+            MontgomeryContext context = new MontgomeryContext(modulus);
+            int[] scratch = new int[(bits + 31) / 32 + 2];
+            for (int t = 0; t < 20; t++) {
+                BigInteger a = new BigInteger(bits, random).mod(modulus);
+                BigInteger b = new BigInteger(bits, random).mod(modulus);
+                BigInteger expected = a.multiply(b).mod(modulus);
+
+                int[] x = context.toMontgomery(a);
+                int[] y = context.toMontgomery(b);
+                int[] out = new int[x.length];
+                context.multiply(x, y, out, scratch);
+                assertEquals(expected, context.fromMontgomery(out), "bits " + bits);
+
+                context.multiply(x, y, x, scratch);
+                assertEquals(expected, context.fromMontgomery(x), "bits " + bits + " out == a");
+
+                context.multiply(y, y, y, scratch);
+                assertEquals(b.multiply(b).mod(modulus), context.fromMontgomery(y), "bits " + bits + " square");
+            }
+            assertEquals(BigInteger.ONE, context.fromMontgomery(context.one()));
+        }
+    }
+
+    @Test
+    void strategiesAgree() {
+        Random random = new Random(23);
+        for (int bits : BITS) {
+            BigInteger modulus = new BigInteger(bits, random).setBit(bits - 1);
+            BigInteger base = new BigInteger(bits, random);
+            BigInteger exponent = new BigInteger(bits, random);
+            BigInteger expected = base.modPow(exponent, modulus);
+            for (PowModStrategy strategy : PowModStrategy.values()) {
+                assertEquals(expected, strategy.forModulus(modulus).pow(base, exponent), strategy + " bits " + bits);
+            }
+        }
+    }
+
+    @Test
+    void rejectsEvenModulus() {
+        assertThrows(IllegalArgumentException.class, () -> new MontgomeryContext(BigInteger.valueOf(10)));
+        assertThrows(IllegalArgumentException.class, () -> new MontgomeryContext(BigInteger.ONE));
+    }
+
+    private static BigInteger oddModulus(Random random, int bits) {
+        return new BigInteger(bits, random).setBit(bits - 1).setBit(0);
+    }
+}